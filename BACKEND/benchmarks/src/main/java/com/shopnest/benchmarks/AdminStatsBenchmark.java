@@ -0,0 +1,62 @@
+package com.shopnest.benchmarks;
+
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.service.AdminStatsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Dashboard aggregation over synthetic orders: the original full-scan computation from
+// AdminController.getStats versus the incrementally maintained AdminStatsService.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdminStatsBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int orderCount;
+
+    private List<Order> orders;
+    private AdminStatsService statsService;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        orders = Fixtures.orders(orderCount, 11);
+        statsService = new AdminStatsService();
+        orders.forEach(order -> statsService.onOrderChanged(new OrderChangedEvent(null, order)));
+        random = new Random(3);
+    }
+
+    @Benchmark
+    public Object[] fullScan() {
+        double totalSales = orders.stream()
+                .filter(o -> !"CANCELLED".equals(o.getStatus()))
+                .mapToDouble(Order::getTotalAmount)
+                .sum();
+        List<Order> recentOrders = orders.stream()
+                .sorted((o1, o2) -> o2.getOrderDate().compareTo(o1.getOrderDate()))
+                .limit(5)
+                .collect(Collectors.toList());
+        return new Object[] { totalSales, recentOrders };
+    }
+
+    @Benchmark
+    public Map<String, Object> incrementalSnapshot() {
+        return statsService.snapshot();
+    }
+
+    @Benchmark
+    public void incrementalOrderCreated() {
+        statsService.onOrderChanged(new OrderChangedEvent(null,
+                Fixtures.order(random, 2, System.currentTimeMillis())));
+    }
+}
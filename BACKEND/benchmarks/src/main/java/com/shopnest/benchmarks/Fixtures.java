@@ -0,0 +1,100 @@
+package com.shopnest.benchmarks;
+
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic domain objects shared by the benchmarks.
+final class Fixtures {
+    private static final String[] CATEGORIES = { "Men", "Women", "Footwear", "Accessories" };
+    private static final String[] STATUSES = { "PENDING", "SHIPPED", "DELIVERED", "CANCELLED" };
+
+    private Fixtures() {
+    }
+
+    static Product product(Random random) {
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        return new Product(new ObjectId().toHexString(), "Product " + random.nextInt(100_000),
+                "A comfortable everyday item with a reasonably long marketing description attached to it.",
+                5 + random.nextInt(20_000) / 100.0, category, "Sub " + random.nextInt(20), random.nextBoolean() ? "Men" : "Women",
+                Arrays.asList("S", "M", "L", "XL"),
+                "https://images.example.com/" + random.nextInt(1_000_000) + ".jpg",
+                Arrays.asList("https://images.example.com/a.jpg", "https://images.example.com/b.jpg"),
+                random.nextInt(500));
+    }
+
+    static Order order(Random random, int items, long dateMillis) {
+        List<Order.OrderItem> orderItems = new ArrayList<>(items);
+        double total = 0;
+        for (int i = 0; i < items; i++) {
+            double price = 5 + random.nextInt(20_000) / 100.0;
+            int quantity = 1 + random.nextInt(3);
+            total += price * quantity;
+            orderItems.add(new Order.OrderItem(new ObjectId().toHexString(), "Product " + i, quantity, price, "M"));
+        }
+        return new Order(new ObjectId().toHexString(), new ObjectId().toHexString(), "user" + random.nextInt(10_000),
+                orderItems, total, STATUSES[random.nextInt(STATUSES.length)], new Date(dateMillis));
+    }
+
+    static List<Order> orders(int count, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(order(random, 1 + random.nextInt(5), now - random.nextInt(365 * 24 * 3600) * 1000L));
+        }
+        return orders;
+    }
+
+    static User userWithCart(int cartSize, long seed) {
+        Random random = new Random(seed);
+        List<User.CartItem> cart = new ArrayList<>(cartSize);
+        List<Product> wishlist = new ArrayList<>(cartSize);
+        List<String> wishlistIds = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            Product product = product(random);
+            cart.add(new User.CartItem(product, 1 + random.nextInt(3), "M"));
+            Product wished = product(random);
+            wishlist.add(wished);
+            wishlistIds.add(wished.getId());
+        }
+        return User.builder()
+                .id(new ObjectId().toHexString())
+                .username("shopper")
+                .fullName("Benchmark Shopper")
+                .email("shopper@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuJ3Yd7x8i6r6c9lQ0C2lq2y6u3pVHk3e")
+                .role("ROLE_USER")
+                .cart(cart)
+                .wishlistIds(wishlistIds)
+                .wishlist(wishlist)
+                .build();
+    }
+
+    static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + name + " on " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    static void invoke(Object target, String method) {
+        java.lang.reflect.Method m = ReflectionUtils.findMethod(target.getClass(), method);
+        if (m == null) {
+            throw new IllegalArgumentException("No method " + method + " on " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(m);
+        ReflectionUtils.invokeMethod(m, target);
+    }
+}
@@ -0,0 +1,56 @@
+package com.shopnest.benchmarks;
+
+import com.shopnest.backend.config.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request auth cost. legacyValidateThenParse reproduces the old filter path (key rebuilt
+// and token parsed twice); verifyUncached is a single parse; verifyCached is the fast path.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private static final String SECRET = "ShopNestSecretKeyForJWTAuthenticationWhichShouldBeVeryLongAndSecure";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        Fixtures.setField(jwtUtils, "jwtSecret", SECRET);
+        Fixtures.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        Fixtures.setField(jwtUtils, "verifiedCacheSize", 10_000L);
+        Fixtures.invoke(jwtUtils, "init");
+        token = jwtUtils.generateJwtToken("shopper@example.com");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken("shopper@example.com");
+    }
+
+    @Benchmark
+    public String legacyValidateThenParse() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return jwtUtils.verifyJwtTokenUncached(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtils.verifyJwtToken(token);
+    }
+}
@@ -0,0 +1,61 @@
+package com.shopnest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the main response bodies; cartSize scales the hydrated user payload.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "10", "200" })
+    public int cartSize;
+
+    private ObjectWriter writer;
+    private Product product;
+    private List<Product> catalogPage;
+    private Order order;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writer();
+        Random random = new Random(42);
+        product = Fixtures.product(random);
+        catalogPage = java.util.stream.Stream.generate(() -> Fixtures.product(random)).limit(50).toList();
+        order = Fixtures.order(random, 10, System.currentTimeMillis());
+        user = Fixtures.userWithCart(cartSize, 7);
+    }
+
+    @Benchmark
+    public byte[] product() throws Exception {
+        return writer.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws Exception {
+        return writer.writeValueAsBytes(catalogPage);
+    }
+
+    @Benchmark
+    public byte[] order() throws Exception {
+        return writer.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] userWithCart() throws Exception {
+        return writer.writeValueAsBytes(user);
+    }
+}
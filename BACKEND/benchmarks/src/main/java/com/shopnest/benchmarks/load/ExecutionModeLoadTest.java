@@ -0,0 +1,176 @@
+package com.shopnest.benchmarks.load;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test comparing the backend's execution modes (shopnest.execution.mode).
+ *
+ * Against a running server:
+ *   java -cp benchmarks.jar com.shopnest.benchmarks.load.ExecutionModeLoadTest \
+ *       --base-url http://localhost:8081 --mode platform --connections 512
+ *
+ * Or let it start the packaged jar once per mode and compare them side by side:
+ *   java -cp benchmarks.jar com.shopnest.benchmarks.load.ExecutionModeLoadTest \
+ *       --jar target/backend-0.0.1-SNAPSHOT.jar --modes platform,virtual,reactive \
+ *       --connections 1024 --duration 30 --user-id <id>
+ *
+ * Every connection keeps exactly one request in flight, so --connections is the offered
+ * concurrency. Prints throughput and p50/p99/max latency per mode and endpoint.
+ */
+public class ExecutionModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int connections = Integer.parseInt(options.getOrDefault("connections", "256"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        String userId = options.getOrDefault("user-id", "000000000000000000000000");
+
+        System.out.printf("%-9s %-34s %10s %8s %10s %9s %9s %9s%n",
+                "mode", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+
+        if (options.containsKey("jar")) {
+            int port = Integer.parseInt(options.getOrDefault("port", "18081"));
+            for (String mode : options.getOrDefault("modes", "platform,virtual,reactive").split(",")) {
+                Process server = new ProcessBuilder("java", "-jar", new File(options.get("jar")).getAbsolutePath(),
+                        "--server.port=" + port, "--shopnest.execution.mode=" + mode)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                try {
+                    String baseUrl = "http://localhost:" + port;
+                    awaitReady(baseUrl);
+                    run(mode, baseUrl, userId, connections, warmupSeconds, durationSeconds);
+                } finally {
+                    server.destroy();
+                    server.waitFor();
+                }
+            }
+        } else {
+            run(options.getOrDefault("mode", "platform"), options.getOrDefault("base-url", "http://localhost:8081"),
+                    userId, connections, warmupSeconds, durationSeconds);
+        }
+    }
+
+    private static void run(String mode, String baseUrl, String userId, int connections, int warmupSeconds,
+            int durationSeconds) throws Exception {
+        String prefix = "reactive".equals(mode) ? "/api/rx" : "/api";
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET products", baseUrl + prefix + "/products");
+        endpoints.put("GET products/category/Men", baseUrl + prefix + "/products/category/Men");
+        endpoints.put("GET orders/user/{id}", baseUrl + prefix + "/orders/user/" + userId);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+            load(client, endpoint.getValue(), connections, warmupSeconds); // warm-up, discarded
+            Result result = load(client, endpoint.getValue(), connections, durationSeconds);
+            System.out.printf("%-9s %-34s %10d %8d %10.1f %9.2f %9.2f %9.2f%n",
+                    mode, endpoint.getKey(), result.latenciesNanos.length, result.errors,
+                    result.latenciesNanos.length / (double) durationSeconds,
+                    percentile(result.latenciesNanos, 0.50), percentile(result.latenciesNanos, 0.99),
+                    percentile(result.latenciesNanos, 1.0));
+        }
+    }
+
+    private static Result load(HttpClient client, String url, int connections, int seconds) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(connections);
+        List<long[]> perConnection = new ArrayList<>();
+        int[] counts = new int[connections];
+        for (int i = 0; i < connections; i++) {
+            perConnection.add(new long[1024]);
+        }
+        for (int i = 0; i < connections; i++) {
+            send(client, request, i, deadline, perConnection, counts, errors, done);
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < connections; i++) {
+            System.arraycopy(perConnection.get(i), 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    // Each connection is a sequential chain of requests, so its slot needs no locking
+    private static void send(HttpClient client, HttpRequest request, int slot, long deadline, List<long[]> samples,
+            int[] counts, AtomicLong errors, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long elapsed = System.nanoTime() - start;
+            if (failure != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                long[] slotSamples = samples.get(slot);
+                if (counts[slot] == slotSamples.length) {
+                    slotSamples = Arrays.copyOf(slotSamples, slotSamples.length * 2);
+                    samples.set(slot, slotSamples);
+                }
+                slotSamples[counts[slot]++] = elapsed;
+            }
+            send(client, request, slot, deadline, samples, counts, errors, done);
+        });
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void awaitReady(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + Duration.ofSeconds(180).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?limit=1")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (java.io.IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server at " + baseUrl + " did not become ready");
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
@@ -0,0 +1,355 @@
+package com.shopnest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopnest.backend.ShopNestBackendApplication;
+import com.shopnest.backend.config.SyntheticDataGenerator;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: embedded MongoDB, synthetic data, the backend started in-process, then
+ * a closed-loop mix of shopper and admin scenarios.
+ *
+ *   java -cp benchmarks.jar com.shopnest.benchmarks.load.LoadHarness --vus 64 --duration 60 \
+ *       --mix browse:45,search:20,cart:20,checkout:5,admin:10
+ *
+ * --mongo-uri uses an existing database instead of the embedded one (data is generated if missing);
+ * --base-url targets an already running server seeded with the loadgen profile. Prints throughput
+ * and latency percentiles per endpoint and per scenario.
+ */
+public class LoadHarness {
+    private static final String[] CATEGORIES = { "Men", "Women", "Footwear", "Accessories" };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final List<Shopper> shoppers = new ArrayList<>();
+    private final List<String> productIds = new ArrayList<>();
+    private String adminToken;
+
+    private LoadHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("base-url")) {
+            run(options.get("base-url"), options);
+            return;
+        }
+        if (options.containsKey("mongo-uri")) {
+            runInProcess(options.get("mongo-uri"), options);
+            return;
+        }
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V6_0)) {
+            ServerAddress address = mongod.current().getServerAddress();
+            runInProcess("mongodb://" + address.getHost() + ":" + address.getPort() + "/shopnest_load", options);
+        }
+    }
+
+    private static void runInProcess(String mongoUri, Map<String, String> options) throws Exception {
+        long started = System.currentTimeMillis();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShopNestBackendApplication.class)
+                .profiles("loadgen")
+                .properties(
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "server.port=0",
+                        "shopnest.loadgen.products=" + options.getOrDefault("products", "100000"),
+                        "shopnest.loadgen.users=" + options.getOrDefault("users", "20000"),
+                        "shopnest.loadgen.orders=" + options.getOrDefault("orders", "200000"),
+                        "shopnest.loadgen.reset=" + options.getOrDefault("reset", "false"))
+                .run();
+        try {
+            System.out.printf("Backend ready with synthetic data in %d ms%n", System.currentTimeMillis() - started);
+            run("http://localhost:" + context.getEnvironment().getProperty("local.server.port"), options);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String baseUrl, Map<String, String> options) throws Exception {
+        LoadHarness harness = new LoadHarness(baseUrl);
+        harness.prepare(Integer.parseInt(options.getOrDefault("shoppers", "200")),
+                options.getOrDefault("password", "loadtest123"));
+
+        Map<Scenario, Integer> mix = parseMix(options.getOrDefault("mix", "browse:45,search:20,cart:20,checkout:5,admin:10"));
+        int vus = Integer.parseInt(options.getOrDefault("vus", "64"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+
+        harness.drive(mix, vus, warmup); // warm-up, discarded
+        Recorder recorder = harness.drive(mix, vus, duration);
+        recorder.print(duration);
+    }
+
+    // --- Setup ---
+
+    private void prepare(int shopperCount, String password) throws Exception {
+        for (int i = 0; i < shopperCount; i++) {
+            JsonNode login = login(SyntheticDataGenerator.email(i), password);
+            if (login != null) {
+                shoppers.add(new Shopper(login.path("user").path("id").asText(),
+                        login.path("user").path("username").asText(), login.path("token").asText()));
+            }
+        }
+        JsonNode admin = login("admin@shopnest.com", "admin1234");
+        if (shoppers.isEmpty() || admin == null) {
+            throw new IllegalStateException("Could not log in synthetic shoppers or the admin; "
+                    + "is the server running with the loadgen profile?");
+        }
+        adminToken = admin.path("token").asText();
+
+        String cursor = null;
+        for (int page = 0; page < 10; page++) {
+            String path = "/api/products?limit=500" + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode body = MAPPER.readTree(get(path, null).send().body());
+            body.path("items").forEach(product -> productIds.add(product.path("id").asText()));
+            cursor = body.path("nextCursor").isTextual() ? body.path("nextCursor").asText() : null;
+            if (cursor == null) {
+                break;
+            }
+        }
+        System.out.printf("Logged in %d shoppers, sampled %d products%n", shoppers.size(), productIds.size());
+    }
+
+    private JsonNode login(String email, String password) throws Exception {
+        HttpResponse<String> response = send(request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", email, "password", password)))
+                .build());
+        return response.statusCode() == 200 ? MAPPER.readTree(response.body()) : null;
+    }
+
+    // --- Load ---
+
+    private Recorder drive(Map<Scenario, Integer> mix, int vus, int seconds) throws InterruptedException {
+        Scenario[] wheel = mix.entrySet().stream()
+                .flatMap(e -> java.util.Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Scenario[]::new);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        Recorder[] perVu = new Recorder[vus];
+        Thread[] threads = new Thread[vus];
+        for (int i = 0; i < vus; i++) {
+            Recorder recorder = perVu[i] = new Recorder();
+            Shopper shopper = shoppers.get(i % shoppers.size());
+            threads[i] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = wheel[random.nextInt(wheel.length)];
+                    long start = System.nanoTime();
+                    boolean ok = runScenario(scenario, shopper, random, recorder);
+                    recorder.record("scenario " + scenario.name().toLowerCase(), System.nanoTime() - start, ok);
+                }
+            }, "vu-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Recorder merged = new Recorder();
+        for (Recorder recorder : perVu) {
+            merged.merge(recorder);
+        }
+        return merged;
+    }
+
+    private boolean runScenario(Scenario scenario, Shopper shopper, ThreadLocalRandom random, Recorder recorder) {
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        String productId = productIds.get(random.nextInt(productIds.size()));
+        String auth = shopper.token;
+        boolean ok = true;
+        switch (scenario) {
+            case BROWSE -> {
+                ok &= timed(recorder, "GET /api/products", get("/api/products?limit=24", null));
+                ok &= timed(recorder, "GET /api/products/category/{c}",
+                        get("/api/products/category/" + category + "?limit=24", null));
+                ok &= timed(recorder, "GET /api/products/{id}", get("/api/products/" + productId, null));
+            }
+            case SEARCH -> {
+                int min = 10 * random.nextInt(10);
+                ok &= timed(recorder, "GET /api/products/search", get("/api/products/search?category=" + category
+                        + "&size=M,L&minPrice=" + min + "&maxPrice=" + (min + 60) + "&inStock=true&sort=price_asc",
+                        null));
+            }
+            case CART -> {
+                String cartPath = "/api/users/" + shopper.id + "/cart";
+                ok &= timed(recorder, "POST /api/users/{id}/cart/items", exchange(request(cartPath + "/items", auth)
+                        .header("Content-Type", "application/json")
+                        .POST(json(Map.of("productId", productId, "quantity", 1, "selectedSize", "M")))));
+                ok &= timed(recorder, "GET /api/users/{id}/cart", get(cartPath, auth));
+                ok &= timed(recorder, "DELETE /api/users/{id}/cart/items/{pid}",
+                        exchange(request(cartPath + "/items/" + productId + "?size=M", auth).DELETE()));
+            }
+            case CHECKOUT -> {
+                Map<String, Object> item = new HashMap<>();
+                item.put("productId", productId);
+                item.put("productName", "Load item");
+                item.put("quantity", 1);
+                item.put("price", 25.0);
+                item.put("size", "M");
+                Map<String, Object> order = Map.of("userId", shopper.id, "username", shopper.username,
+                        "items", List.of(item), "totalAmount", 25.0);
+                ok &= timed(recorder, "POST /api/orders", exchange(request("/api/orders", auth)
+                        .header("Content-Type", "application/json")
+                        .POST(json(order))));
+                ok &= timed(recorder, "GET /api/orders/user/{id}", get("/api/orders/user/" + shopper.id, auth));
+            }
+            case ADMIN -> {
+                ok &= timed(recorder, "GET /api/admin/stats", get("/api/admin/stats", adminToken));
+                ok &= timed(recorder, "GET /api/admin/products", get("/api/admin/products?limit=50", adminToken));
+            }
+        }
+        return ok;
+    }
+
+    // Wraps one request so its latency is attributed to the endpoint label
+    private boolean timed(Recorder recorder, String endpoint, Call call) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = call.send().statusCode() < 400;
+        } catch (Exception e) {
+            ok = false;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, ok);
+        return ok;
+    }
+
+    // --- HTTP ---
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws Exception;
+    }
+
+    private Call get(String path, String token) {
+        return exchange(request(path, token).GET());
+    }
+
+    private Call exchange(HttpRequest.Builder builder) {
+        HttpRequest request = builder.build();
+        return () -> send(request);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    // --- Options ---
+
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            mix.put(Scenario.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    private enum Scenario {
+        BROWSE, SEARCH, CART, CHECKOUT, ADMIN
+    }
+
+    private record Shopper(String id, String username, String token) {
+    }
+
+    // Per-thread latency samples; merged once the run is over so recording needs no locking
+    private static final class Recorder {
+        private final Map<String, long[]> samples = new TreeMap<>();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final Map<String, Integer> errors = new HashMap<>();
+
+        void record(String endpoint, long nanos, boolean ok) {
+            if (!ok) {
+                errors.merge(endpoint, 1, Integer::sum);
+                return;
+            }
+            long[] values = samples.computeIfAbsent(endpoint, k -> new long[256]);
+            int count = counts.getOrDefault(endpoint, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                samples.put(endpoint, values);
+            }
+            values[count] = nanos;
+            counts.put(endpoint, count + 1);
+        }
+
+        void merge(Recorder other) {
+            other.samples.forEach((endpoint, values) -> {
+                int count = other.counts.get(endpoint);
+                for (int i = 0; i < count; i++) {
+                    record(endpoint, values[i], true);
+                }
+            });
+            other.errors.forEach((endpoint, n) -> errors.merge(endpoint, n, Integer::sum));
+        }
+
+        void print(int seconds) {
+            System.out.printf("%-40s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            java.util.Set<String> endpoints = new java.util.TreeSet<>(samples.keySet());
+            endpoints.addAll(errors.keySet());
+            for (String endpoint : endpoints) {
+                int count = counts.getOrDefault(endpoint, 0);
+                long[] sorted = Arrays.copyOf(samples.getOrDefault(endpoint, new long[0]), count);
+                Arrays.sort(sorted);
+                System.out.printf("%-40s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", endpoint, count,
+                        errors.getOrDefault(endpoint, 0), count / (double) seconds,
+                        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                        percentile(sorted, 0.999), percentile(sorted, 1.0));
+            }
+        }
+
+        private static double percentile(long[] sortedNanos, double quantile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
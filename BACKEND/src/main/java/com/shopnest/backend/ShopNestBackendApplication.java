@@ -2,10 +2,13 @@ package com.shopnest.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @SpringBootApplication
-@EnableMongoRepositories
+@EnableMongoRepositories(basePackages = "com.shopnest.backend.repository", excludeFilters = @ComponentScan.Filter(
+        type = FilterType.REGEX, pattern = "com\\.shopnest\\.backend\\.repository\\.reactive\\..*"))
 public class ShopNestBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,263 @@
+package com.shopnest.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopnest.backend.service.OrderIngestionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission control for /api/**, running right after AuthTokenFilter so clients can be keyed by
+// user when they have a token and by remote address otherwise (behind a proxy, set
+// server.forward-headers-strategy so that is the real client).
+//
+// Each request is classified into an endpoint class. A per-(class, client) token bucket answers
+// 429 with Retry-After once a client exceeds its rate; a per-class concurrency limiter, whose limit
+// backs off while the class runs slower than its target latency, answers 503 when the class is
+// saturated. Checkout is also shed while the order ingestion queue is deeper than max-queue.
+//
+// Per class: shopnest.admission.<class>.rate (tokens/s, 0 = no bucket), .burst,
+// .max-concurrency (0 = no limiter) and .target-latency-ms.
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    enum EndpointClass {
+        LOGIN(1, 10, 32, 1000),
+        ADMIN_STATS(2, 5, 4, 1000),
+        CATALOG(20, 40, 64, 500),
+        CHECKOUT(2, 10, 128, 500),
+        DEFAULT(50, 100, 256, 1000);
+
+        final double rate;
+        final int burst;
+        final int maxConcurrency;
+        final long targetLatencyMs;
+
+        EndpointClass(double rate, int burst, int maxConcurrency, long targetLatencyMs) {
+            this.rate = rate;
+            this.burst = burst;
+            this.maxConcurrency = maxConcurrency;
+            this.targetLatencyMs = targetLatencyMs;
+        }
+
+        String property() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    private boolean enabled;
+    private int checkoutMaxQueue;
+    private final Map<EndpointClass, Settings> settings = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, ConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Map<String, LongAdder>> rejected = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, LongAdder> admitted = new EnumMap<>(EndpointClass.class);
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    void init() {
+        enabled = environment.getProperty("shopnest.admission.enabled", Boolean.class, true);
+        checkoutMaxQueue = environment.getProperty("shopnest.admission.checkout.max-queue", Integer.class, 8000);
+        long windowMs = environment.getProperty("shopnest.admission.window-ms", Long.class, 1000L);
+        long now = System.nanoTime();
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            String prefix = "shopnest.admission." + endpoint.property() + ".";
+            Settings s = new Settings(
+                    environment.getProperty(prefix + "rate", Double.class, endpoint.rate),
+                    environment.getProperty(prefix + "burst", Integer.class, endpoint.burst),
+                    environment.getProperty(prefix + "max-concurrency", Integer.class, endpoint.maxConcurrency),
+                    environment.getProperty(prefix + "target-latency-ms", Long.class, endpoint.targetLatencyMs));
+            settings.put(endpoint, s);
+            if (s.maxConcurrency > 0) {
+                limiters.put(endpoint, new ConcurrencyLimiter(s.maxConcurrency, s.targetLatencyMs, windowMs, now));
+            }
+            rejected.put(endpoint, Map.of("rate", new LongAdder(), "concurrency", new LongAdder(),
+                    "queue", new LongAdder()));
+            admitted.put(endpoint, new LongAdder());
+        }
+        // Idle clients' buckets are full again by the time they expire, so dropping them is exact
+        buckets = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("shopnest.admission.max-clients", Long.class, 100_000L))
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            String tag = endpoint.property();
+            FunctionCounter.builder("shopnest.admission.admitted", admitted.get(endpoint), LongAdder::sum)
+                    .tag("class", tag).register(registry);
+            rejected.get(endpoint).forEach((reason, count) ->
+                    FunctionCounter.builder("shopnest.admission.rejected", count, LongAdder::sum)
+                            .tag("class", tag).tag("reason", reason).register(registry));
+            ConcurrencyLimiter limiter = limiters.get(endpoint);
+            if (limiter != null) {
+                Gauge.builder("shopnest.admission.inflight", limiter, ConcurrencyLimiter::inFlight)
+                        .tag("class", tag).register(registry);
+                Gauge.builder("shopnest.admission.limit", limiter, ConcurrencyLimiter::limit)
+                        .tag("class", tag).register(registry);
+            }
+        }
+        Gauge.builder("shopnest.admission.clients", () -> buckets.estimatedSize()).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpoint = classify(request.getMethod(), request.getRequestURI());
+        Settings s = settings.get(endpoint);
+        long now = System.nanoTime();
+
+        if (s.rate > 0) {
+            TokenBucket bucket = buckets.get(endpoint.ordinal() + "|" + clientKey(request),
+                    key -> new TokenBucket(s.rate, s.burst, now));
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                rejected.get(endpoint).get("rate").increment();
+                reject(response, 429, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)),
+                        "Error: Too many requests, please slow down.");
+                return;
+            }
+        }
+
+        if (endpoint == EndpointClass.CHECKOUT && "POST".equals(request.getMethod())
+                && orderIngestionService.queueDepth() > checkoutMaxQueue) {
+            rejected.get(endpoint).get("queue").increment();
+            reject(response, 503, 1, "Error: Server is busy, please retry shortly.");
+            return;
+        }
+
+        ConcurrencyLimiter limiter = limiters.get(endpoint);
+        if (limiter != null && !limiter.tryAcquire()) {
+            rejected.get(endpoint).get("concurrency").increment();
+            reject(response, 503, 1, "Error: Server is busy, please retry shortly.");
+            return;
+        }
+        admitted.get(endpoint).increment();
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Async handlers (BCrypt pool, streamed bodies) hold their slot until they complete
+            if (limiter != null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, now));
+                async = true;
+            }
+        } finally {
+            if (limiter != null && !async) {
+                long end = System.nanoTime();
+                limiter.release(end - now, end);
+            }
+        }
+    }
+
+    static EndpointClass classify(String method, String uri) {
+        if (uri.equals("/api/auth/login") || uri.equals("/api/auth/register")
+                || uri.equals("/api/admin/register-admin")) {
+            return EndpointClass.LOGIN;
+        }
+        if (uri.startsWith("/api/admin/stats") || uri.startsWith("/api/admin/analytics")) {
+            return EndpointClass.ADMIN_STATS;
+        }
+        // Unpaged and streamed full-catalog reads, and search
+        if ("GET".equals(method) && (uri.equals("/api/products") || uri.equals("/api/products/")
+                || uri.equals("/api/products/stream") || uri.equals("/api/products/search"))) {
+            return EndpointClass.CATALOG;
+        }
+        if (uri.equals("/api/orders") && "POST".equals(method)) {
+            return EndpointClass.CHECKOUT;
+        }
+        return EndpointClass.DEFAULT;
+    }
+
+    // Behind the hosting proxy the remote address comes from X-Forwarded-For (server.forward-headers-strategy)
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null
+                && !"anonymousUser".equals(authentication.getName())) {
+            return "u:" + authentication.getName();
+        }
+        return "a:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, int status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    private record Settings(double rate, int burst, int maxConcurrency, long targetLatencyMs) {
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final ConcurrencyLimiter limiter;
+        private final long started;
+        private boolean released;
+
+        ReleaseOnComplete(ConcurrencyLimiter limiter, long started) {
+            this.limiter = limiter;
+            this.started = started;
+        }
+
+        // complete follows timeout/error, so guard against releasing twice
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                long end = System.nanoTime();
+                limiter.release(end - started, end);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.shopnest.backend.config;
+
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import com.shopnest.backend.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// One-off, idempotent migration of user documents that still embed full products:
+// cart.product becomes cart.productId and wishlist[] becomes wishlistIds[]. Runs as a
+// single server-side pipeline update (MongoDB 4.2+), so no documents pass through the JVM.
+// Runs at bean initialisation, so it is done before the web server accepts a request.
+@Component
+public class CartReferenceMigration {
+    private static final Logger logger = LoggerFactory.getLogger(CartReferenceMigration.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void migrate() {
+        Document filter = new Document("$or", List.of(
+                new Document("cart.product", new Document("$exists", true)),
+                new Document("wishlist", new Document("$exists", true))));
+
+        Document cartItem = new Document("productId", new Document("$ifNull",
+                List.of("$$item.productId", new Document("$toString", "$$item.product._id"))))
+                .append("quantity", "$$item.quantity")
+                .append("selectedSize", "$$item.selectedSize");
+        Document cart = new Document("$map", new Document("input", new Document("$ifNull", List.of("$cart", List.of())))
+                .append("as", "item")
+                .append("in", cartItem));
+        Document wishlistIds = new Document("$concatArrays", List.of(
+                new Document("$ifNull", List.of("$wishlistIds", List.of())),
+                new Document("$map", new Document("input", new Document("$ifNull", List.of("$wishlist", List.of())))
+                        .append("as", "product")
+                        .append("in", new Document("$toString", "$$product._id")))));
+
+        List<Document> pipeline = List.of(
+                new Document("$set", new Document("cart", cart).append("wishlistIds", wishlistIds)),
+                new Document("$unset", "wishlist"));
+
+        UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .updateMany(filter, pipeline);
+        if (result.getModifiedCount() > 0) {
+            logger.info("Migrated {} users to product-reference carts and wishlists", result.getModifiedCount());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.shopnest.backend.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caps in-flight requests for one endpoint class, with an AIMD limit between min and max: once per
+// window the limit is cut by a tenth if requests finished slower than the target latency during
+// that window, or raised by one if they were fast and the limit was actually being used.
+// Everything is CAS-based; the window bookkeeping is a best effort under contention.
+final class ConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicInteger peakInWindow = new AtomicInteger();
+    private final AtomicInteger slowInWindow = new AtomicInteger();
+    private final AtomicInteger doneInWindow = new AtomicInteger();
+    private final AtomicLong windowStart;
+
+    ConcurrencyLimiter(int maxLimit, long targetLatencyMs, long windowMs, long nowNanos) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, this.maxLimit / 10);
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(100, windowMs));
+        this.limit = new AtomicInteger(this.maxLimit);
+        this.windowStart = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInWindow.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        doneInWindow.incrementAndGet();
+        if (targetNanos > 0 && latencyNanos > targetNanos) {
+            slowInWindow.incrementAndGet();
+        }
+        long start = windowStart.get();
+        if (nowNanos - start >= windowNanos && windowStart.compareAndSet(start, nowNanos)) {
+            adjust(doneInWindow.getAndSet(0), slowInWindow.getAndSet(0), peakInWindow.getAndSet(inFlight.get()));
+        }
+    }
+
+    // More than a tenth of the window's requests over target counts as overloaded
+    private void adjust(int done, int slow, int peak) {
+        if (done == 0) {
+            return;
+        }
+        if (slow * 10 > done) {
+            limit.updateAndGet(l -> Math.max(minLimit, l - Math.max(1, l / 10)));
+        } else if (peak >= limit.get() * 8 / 10) {
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int limit() {
+        return limit.get();
+    }
+}
@@ -0,0 +1,65 @@
+package com.shopnest.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// shopnest.execution.mode selects how requests are executed:
+//   platform - Tomcat's platform thread pool (default)
+//   virtual  - one virtual thread per request and per async task (JDK 21+ runtime)
+//   reactive - platform threads, plus the non-blocking /api/rx endpoints
+@Configuration
+@EnableReactiveMongoRepositories(basePackages = "com.shopnest.backend.repository.reactive")
+public class ExecutionModeConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Configuration
+    @ConditionalOnProperty(name = "shopnest.execution.mode", havingValue = "virtual")
+    static class VirtualThreadConfig implements WebMvcConfigurer {
+
+        private final ExecutorService virtualThreads = newVirtualThreadExecutor();
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> {
+                if (virtualThreads != null) {
+                    protocolHandler.setExecutor(virtualThreads);
+                }
+            };
+        }
+
+        @Override
+        public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+            if (virtualThreads != null) {
+                configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreads));
+            }
+        }
+
+        // The build targets Java 17, so the JDK 21 factory is looked up at runtime. On an
+        // older runtime the application keeps running on platform threads.
+        private static ExecutorService newVirtualThreadExecutor() {
+            try {
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                logger.info("Execution mode: virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads need a JDK 21+ runtime (running {}); staying on platform threads",
+                        Runtime.version());
+                return null;
+            }
+        }
+    }
+}
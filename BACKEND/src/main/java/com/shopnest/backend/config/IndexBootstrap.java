@@ -0,0 +1,88 @@
+package com.shopnest.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Creates the indexes declared on @Document models (@Indexed, @CompoundIndex) and then checks
+// that each one exists. Runs at bean initialisation, right after the cart migration, so it is done
+// before the order journal replays and before the web server accepts a request. A failure, e.g. a unique index blocked by duplicate emails, is logged with the
+// index it concerns instead of stopping the server.
+@Component
+@DependsOn("cartReferenceMigration")
+public class IndexBootstrap {
+    private static final Logger logger = LoggerFactory.getLogger(IndexBootstrap.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @PostConstruct
+    void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> missing = new ArrayList<>();
+        int declared = 0;
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getCollection());
+            List<IndexDefinition> definitions = new ArrayList<>();
+            resolver.resolveIndexFor(entity.getType()).forEach(definitions::add);
+
+            for (IndexDefinition definition : definitions) {
+                declared++;
+                try {
+                    indexOps.ensureIndex(definition);
+                } catch (DataAccessException e) {
+                    logger.error("Could not create index {} on {}: {}", definition.getIndexKeys().toJson(),
+                            entity.getCollection(), e.getMostSpecificCause().getMessage());
+                }
+            }
+
+            // Verify by key pattern, which is what matters to the planner
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexBootstrap::keyPattern)
+                    .collect(Collectors.toSet());
+            for (IndexDefinition definition : definitions) {
+                String keys = definition.getIndexKeys().toJson();
+                if (!existing.contains(keys)) {
+                    missing.add(entity.getCollection() + " " + keys);
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            logger.info("Verified {} declared indexes", declared);
+        } else {
+            logger.error("{} of {} declared indexes are missing: {}", missing.size(), declared, missing);
+        }
+    }
+
+    private static String keyPattern(IndexInfo info) {
+        org.bson.Document keys = new org.bson.Document();
+        info.getIndexFields().forEach(field -> keys.append(field.getKey(),
+                field.getDirection() == Sort.Direction.DESC ? -1 : 1));
+        return keys.toJson();
+    }
+}
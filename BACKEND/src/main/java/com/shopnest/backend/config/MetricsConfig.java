@@ -0,0 +1,32 @@
+package com.shopnest.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Application metrics beyond what actuator records on its own (http.server.requests for every
+// controller, JVM/GC gauges, spring.data.repository.invocations). Everything is scraped from
+// /actuator/prometheus.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MongoCommandMetrics mongoCommandMetrics(MeterRegistry meterRegistry,
+            @Value("${shopnest.metrics.slow-query-ms:100}") long slowQueryMs) {
+        return new MongoCommandMetrics(meterRegistry, slowQueryMs);
+    }
+
+    // Applies to both the blocking and the reactive client
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MongoCommandMetrics mongoCommandMetrics) {
+        return settings -> settings.addCommandListener(mongoCommandMetrics);
+    }
+
+    // Static so repository factory beans are post-processed before they build their proxies
+    @Bean
+    public static RepositoryMethodTagging repositoryMethodTagging() {
+        return new RepositoryMethodTagging();
+    }
+}
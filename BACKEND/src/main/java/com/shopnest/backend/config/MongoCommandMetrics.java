@@ -0,0 +1,134 @@
+package com.shopnest.backend.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every Mongo command and counts the documents it returned or touched, tagged by command,
+// collection and the repository method that issued it. Commands slower than
+// shopnest.metrics.slow-query-ms are logged with their filter (0 disables the log).
+public class MongoCommandMetrics implements CommandListener {
+    private static final Logger logger = LoggerFactory.getLogger(MongoCommandMetrics.class);
+    private static final int MAX_LOGGED_CHARS = 512;
+
+    // Where each command keeps the part worth printing in the slow-query log
+    private static final Map<String, String> FILTER_FIELDS = Map.of(
+            "find", "filter",
+            "aggregate", "pipeline",
+            "count", "query",
+            "distinct", "query",
+            "findAndModify", "query",
+            "update", "updates",
+            "delete", "deletes");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry, long slowQueryMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+    }
+
+    @Override
+    public void commandStarted(@NonNull CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String name = event.getCommandName();
+        // The command document is only valid during this callback, so render the filter now
+        String filter = null;
+        if (slowQueryNanos > 0 && FILTER_FIELDS.containsKey(name)) {
+            BsonValue value = command.get(FILTER_FIELDS.get(name));
+            if (value != null) {
+                filter = truncate(new BsonDocument(FILTER_FIELDS.get(name), value).toJson());
+            }
+        }
+        inFlight.put(event.getRequestId(), new Started(collection(name, command), RepositoryMethodTagging.current(), filter));
+    }
+
+    @Override
+    public void commandSucceeded(@NonNull CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        String name = event.getCommandName();
+        timer(name, started, "success").record(nanos, TimeUnit.NANOSECONDS);
+        int documents = documentCount(name, event.getResponse());
+        DistributionSummary.builder("shopnest.mongo.documents")
+                .description("Documents returned or written per Mongo command")
+                .tag("command", name)
+                .tag("collection", started.collection)
+                .tag("method", started.method)
+                .register(meterRegistry)
+                .record(documents);
+        logIfSlow(name, started, nanos, documents);
+    }
+
+    @Override
+    public void commandFailed(@NonNull CommandFailedEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        timer(event.getCommandName(), started, "failure").record(nanos, TimeUnit.NANOSECONDS);
+        logIfSlow(event.getCommandName(), started, nanos, 0);
+    }
+
+    private Timer timer(String command, Started started, String outcome) {
+        return Timer.builder("shopnest.mongo.command")
+                .description("Mongo command round trips")
+                .tag("command", command)
+                .tag("collection", started.collection)
+                .tag("method", started.method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void logIfSlow(String command, Started started, long nanos, int documents) {
+        if (slowQueryNanos > 0 && nanos >= slowQueryNanos) {
+            logger.warn("Slow Mongo {} on {} from {}: {} ms, {} docs {}", command, started.collection, started.method,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), documents, started.filter != null ? started.filter : "");
+        }
+    }
+
+    private static String collection(String command, BsonDocument document) {
+        BsonValue value = document.get("getMore".equals(command) ? "collection" : command);
+        return value != null && value.isString() ? value.asString().getValue() : "none";
+    }
+
+    private static int documentCount(String command, BsonDocument reply) {
+        BsonValue cursor = reply.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("getMore".equals(command) ? "nextBatch" : "firstBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        if ("findAndModify".equals(command)) {
+            BsonValue value = reply.get("value");
+            return value != null && value.isDocument() ? 1 : 0;
+        }
+        BsonValue n = reply.get("n");
+        return n != null && n.isNumber() ? n.asNumber().intValue() : 0;
+    }
+
+    private static String truncate(String json) {
+        return json.length() <= MAX_LOGGED_CHARS ? json : json.substring(0, MAX_LOGGED_CHARS) + "...";
+    }
+
+    private record Started(String collection, String method, String filter) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.shopnest.backend.config;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Runs explain (queryPlanner only, nothing executes) for every derived query method of every
+// repository, with placeholder arguments, and reports plans that scan the whole collection.
+// shopnest.indexes.explain: off | warn (log them) | fail (refuse to start). Methods that are full
+// scans by design (no criteria and no sort) are skipped, as are those in explain-ignore.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class QueryPlanDiagnostics implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanDiagnostics.class);
+
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Value("${shopnest.indexes.explain:off}")
+    private String mode;
+
+    @Value("${shopnest.indexes.explain-ignore:}")
+    private Set<String> ignored;
+
+    @Override
+    public void run(String... args) {
+        if ("off".equals(mode)) {
+            return;
+        }
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        List<String> scans = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int explained = 0;
+
+        for (RepositoryFactoryInformation<?, ?> factory : beanFactory
+                .getBeansOfType(RepositoryFactoryInformation.class, false, false).values()) {
+            RepositoryInformation information = factory.getRepositoryInformation();
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(information.getDomainType());
+            String repository = information.getRepositoryInterface().getSimpleName();
+
+            for (Method method : information.getQueryMethods()) {
+                String name = repository + "." + method.getName();
+                if (method.isAnnotationPresent(org.springframework.data.mongodb.repository.Query.class)
+                        || ignored.contains(name) || !seen.add(name + Arrays.toString(method.getParameterTypes()))) {
+                    continue;
+                }
+                PartTree tree = new PartTree(method.getName(), information.getDomainType());
+                if (!tree.getParts().iterator().hasNext() && tree.getSort().isUnsorted()) {
+                    continue;
+                }
+
+                Document filter = queryMapper.getMappedObject(criteria(tree).getCriteriaObject(), entity);
+                Document sort = queryMapper.getMappedSort(sort(tree.getSort()), entity);
+                Document plan = explain(entity.getCollection(), tree, filter, sort);
+                explained++;
+
+                List<String> stages = new ArrayList<>();
+                collectStages(plan, stages);
+                if (stages.contains("COLLSCAN")) {
+                    scans.add(name);
+                    logger.warn("{} scans the whole {} collection (filter {}, sort {}, plan {})", name,
+                            entity.getCollection(), filter.toJson(), sort.toJson(), stages);
+                } else {
+                    logger.debug("{} plan {}", name, stages);
+                }
+            }
+        }
+
+        logger.info("Explained {} repository queries, {} collection scans", explained, scans.size());
+        if (!scans.isEmpty() && "fail".equals(mode)) {
+            throw new IllegalStateException("Repository queries without a usable index: " + scans);
+        }
+    }
+
+    private Document explain(String collection, PartTree tree, Document filter, Document sort) {
+        Document command;
+        if (tree.isDelete()) {
+            command = new Document("delete", collection)
+                    .append("deletes", List.of(new Document("q", filter).append("limit", 0)));
+        } else if (tree.isCountProjection() || tree.isExistsProjection()) {
+            command = new Document("count", collection).append("query", filter);
+        } else {
+            command = new Document("find", collection).append("filter", filter).append("sort", sort);
+            if (tree.getMaxResults() != null) {
+                command.append("limit", tree.getMaxResults());
+            }
+        }
+        Document result = mongoTemplate.executeCommand(new Document("explain", command).append("verbosity", "queryPlanner"));
+        Document planner = result.get("queryPlanner", Document.class);
+        return planner != null ? planner.get("winningPlan", new Document()) : new Document();
+    }
+
+    // --- Placeholder query construction ---
+
+    private static Criteria criteria(PartTree tree) {
+        List<Criteria> ors = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<Criteria> ands = new ArrayList<>();
+            for (Part part : orPart) {
+                ands.add(criterion(part));
+            }
+            if (!ands.isEmpty()) {
+                ors.add(ands.size() == 1 ? ands.get(0) : new Criteria().andOperator(ands));
+            }
+        }
+        if (ors.isEmpty()) {
+            return new Criteria();
+        }
+        return ors.size() == 1 ? ors.get(0) : new Criteria().orOperator(ors);
+    }
+
+    private static Criteria criterion(Part part) {
+        String path = part.getProperty().toDotPath();
+        Object sample = sample(path, part.getProperty().getLeafType());
+        Criteria criteria = Criteria.where(path);
+        return switch (part.getType()) {
+            case NEGATING_SIMPLE_PROPERTY -> criteria.ne(sample);
+            case GREATER_THAN, AFTER -> criteria.gt(sample);
+            case GREATER_THAN_EQUAL -> criteria.gte(sample);
+            case LESS_THAN, BEFORE -> criteria.lt(sample);
+            case LESS_THAN_EQUAL -> criteria.lte(sample);
+            case BETWEEN -> criteria.gt(sample).lt(sample);
+            case IN -> criteria.in(sample);
+            case NOT_IN -> criteria.nin(sample);
+            case IS_NULL -> criteria.is(null);
+            case IS_NOT_NULL -> criteria.ne(null);
+            case EXISTS -> criteria.exists(true);
+            case TRUE -> criteria.is(true);
+            case FALSE -> criteria.is(false);
+            case STARTING_WITH -> criteria.regex("^" + sample);
+            case ENDING_WITH, CONTAINING, NOT_CONTAINING, LIKE, NOT_LIKE, REGEX -> criteria.regex(String.valueOf(sample));
+            default -> criteria.is(sample);
+        };
+    }
+
+    private static Object sample(String path, Class<?> type) {
+        if ("id".equals(path)) {
+            return new ObjectId();
+        }
+        if (Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class)) {
+            return 0;
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return new Date();
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        return "sample";
+    }
+
+    private static Document sort(Sort sort) {
+        Document document = new Document();
+        sort.forEach(order -> document.append(order.getProperty(), order.isAscending() ? 1 : -1));
+        return document;
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
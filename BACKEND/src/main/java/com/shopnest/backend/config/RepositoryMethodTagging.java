@@ -0,0 +1,59 @@
+package com.shopnest.backend.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which repository method is running on the current thread, e.g. "ProductRepository.findByCategory",
+// so Mongo command metrics can be attributed to it. Blocking driver calls run on the caller's thread;
+// commands issued elsewhere (reactive pipelines, lazily consumed streams) are reported as "none".
+public class RepositoryMethodTagging implements BeanPostProcessor {
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new Tagger(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class Tagger implements MethodInterceptor {
+        private final String repository;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        Tagger(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+            String previous = CURRENT.get();
+            CURRENT.set(names.computeIfAbsent(invocation.getMethod(), m -> repository + "." + m.getName()));
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.shopnest.backend.config;
 
+import com.shopnest.backend.service.PasswordHashingService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -13,9 +14,10 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Same calibrated cost as the request-path hashing pool
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService) {
+        return passwordHashingService.getEncoder();
     }
 
     @Bean
@@ -23,6 +25,11 @@ public class SecurityConfig {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public AdmissionControlFilter admissionControlFilter() {
+        return new AdmissionControlFilter();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -30,14 +37,20 @@ public class SecurityConfig {
                 .cors(cors -> {
                 }) // Use default CORS (will use WebConfig or @CrossOrigin)
                 .authorizeHttpRequests(auth -> auth
+                        // Async handlers (hashing pool, streamed bodies) were authorized on the original dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // Allow public access to auth
                         .requestMatchers("/api/products/**").permitAll()
                         .requestMatchers("/api/admin/**").authenticated() // PROTECTED
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Scrapers send an admin bearer token
                         .anyRequest().permitAll())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         http.addFilterBefore(authenticationJwtTokenFilter(),
                 org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
+        // After the token check, so authenticated clients are rate-limited per user
+        http.addFilterAfter(admissionControlFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,111 @@
+package com.shopnest.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Serves the SPA straight from StaticAssetIndex, ahead of security and the dispatcher. API,
+// actuator and error paths pass through; any other unknown path gets index.html so client-side
+// routes work, except under /assets/ where a miss is a stale hashed file and should 404.
+public class StaticAssetFilter extends OncePerRequestFilter {
+
+    private final StaticAssetIndex index;
+
+    public StaticAssetFilter(StaticAssetIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        String path = path(request);
+        return index.isEmpty() || path.startsWith("/api/") || path.equals("/api")
+                || path.startsWith("/actuator") || path.equals("/error");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = path(request);
+        StaticAssetIndex.Asset asset = index.find(path);
+        if (asset == null) {
+            if (path.startsWith("/assets/") || index.getFallback() == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            asset = index.getFallback();
+        }
+
+        StaticAssetIndex.Variant variant = negotiate(asset, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, asset.cacheControl());
+        response.setHeader(HttpHeaders.ETAG, variant.etag());
+        if (asset.isCompressed()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), variant.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(asset.contentType());
+        if (variant.encoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        }
+        response.setContentLength(variant.body().length);
+        if ("GET".equals(request.getMethod())) {
+            response.getOutputStream().write(variant.body());
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        return UriUtils.decode(uri, StandardCharsets.UTF_8);
+    }
+
+    // Brotli over gzip over identity, honouring q=0 exclusions
+    private static StaticAssetIndex.Variant negotiate(StaticAssetIndex.Asset asset, String acceptEncoding) {
+        if (acceptEncoding == null || !asset.isCompressed()) {
+            return asset.identity();
+        }
+        boolean br = false;
+        boolean gzip = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            String coding = parts[0].trim().toLowerCase();
+            br |= "br".equals(coding) || "*".equals(coding);
+            gzip |= "gzip".equals(coding) || "*".equals(coding);
+        }
+        if (br && asset.brotli() != null) {
+            return asset.brotli();
+        }
+        return gzip && asset.gzip() != null ? asset.gzip() : asset.identity();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
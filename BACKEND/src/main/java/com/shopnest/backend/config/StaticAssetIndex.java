@@ -0,0 +1,141 @@
+package com.shopnest.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+// The built frontend, read once at startup and held in memory. Each file keeps its identity bytes
+// plus gzip and brotli variants: .gz/.br files emitted by the build are used when present, gzip is
+// generated here otherwise (brotli needs a native encoder, so it is only ever precompressed).
+public class StaticAssetIndex {
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetIndex.class);
+
+    // Vite output such as assets/index-B3x9kQ2a.js: the name changes whenever the content does
+    private static final Pattern HASHED = Pattern.compile("^assets/.+[.-][A-Za-z0-9_-]{8,}\\.[A-Za-z0-9]+$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+    private static final int MIN_COMPRESS_BYTES = 1024;
+
+    private final Map<String, Asset> assets;
+    private final Asset fallback;
+
+    private StaticAssetIndex(Map<String, Asset> assets) {
+        this.assets = assets;
+        this.fallback = assets.get("index.html");
+    }
+
+    public static StaticAssetIndex load(String location) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource root = resolver.getResource(location);
+        if (!root.exists()) {
+            logger.info("No static assets at {}; the SPA is not bundled in this build", location);
+            return new StaticAssetIndex(Map.of());
+        }
+        String prefix = root.getURL().toString();
+
+        Map<String, byte[]> files = new HashMap<>();
+        for (Resource resource : resolver.getResources(location + "**")) {
+            String url = resource.getURL().toString();
+            if (url.endsWith("/") || !url.startsWith(prefix) || !resource.isReadable()) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                files.put(UriUtils.decode(url.substring(prefix.length()), StandardCharsets.UTF_8), in.readAllBytes());
+            }
+        }
+
+        Map<String, Asset> assets = new HashMap<>();
+        long bytes = 0;
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            String path = file.getKey();
+            if (path.endsWith(".gz") && files.containsKey(path.substring(0, path.length() - 3))
+                    || path.endsWith(".br") && files.containsKey(path.substring(0, path.length() - 3))) {
+                continue; // attached to the original below
+            }
+            MediaType type = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            byte[] body = file.getValue();
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+            byte[] gzip = files.get(path + ".gz");
+            if (gzip == null && compressible(type) && body.length >= MIN_COMPRESS_BYTES) {
+                gzip = gzip(body);
+            }
+            byte[] brotli = files.get(path + ".br");
+
+            assets.put(path, new Asset(
+                    withCharset(type),
+                    HASHED.matcher(path).matches() ? IMMUTABLE : REVALIDATE,
+                    new Variant(body, null, etag),
+                    gzip != null && gzip.length < body.length ? new Variant(gzip, "gzip", variantTag(etag, "gz")) : null,
+                    brotli != null && brotli.length < body.length ? new Variant(brotli, "br", variantTag(etag, "br")) : null));
+            bytes += body.length;
+        }
+        logger.info("Indexed {} static assets ({} KB uncompressed)", assets.size(), bytes / 1024);
+        return new StaticAssetIndex(assets);
+    }
+
+    // path as requested, with its leading slash
+    public Asset find(String path) {
+        if (path.isEmpty() || "/".equals(path)) {
+            return fallback;
+        }
+        return assets.get(path.substring(1));
+    }
+
+    public Asset getFallback() {
+        return fallback;
+    }
+
+    public boolean isEmpty() {
+        return assets.isEmpty();
+    }
+
+    private static boolean compressible(MediaType type) {
+        return "text".equals(type.getType())
+                || type.getSubtype().contains("javascript")
+                || type.getSubtype().contains("json")
+                || type.getSubtype().contains("xml");
+    }
+
+    private static String withCharset(MediaType type) {
+        return compressible(type) && type.getCharset() == null
+                ? new MediaType(type, StandardCharsets.UTF_8).toString()
+                : type.toString();
+    }
+
+    private static String variantTag(String etag, String suffix) {
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    public record Asset(String contentType, String cacheControl, Variant identity, Variant gzip, Variant brotli) {
+        public boolean isCompressed() {
+            return gzip != null || brotli != null;
+        }
+    }
+
+    // encoding is null for the identity representation
+    public record Variant(byte[] body, String encoding, String etag) {
+    }
+}
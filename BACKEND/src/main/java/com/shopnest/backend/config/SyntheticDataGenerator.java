@@ -0,0 +1,272 @@
+package com.shopnest.backend.config;
+
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.model.User;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Production-scale synthetic data for local load testing (run with --spring.profiles.active=loadgen).
+// Runs before DataInitializer, so the hand-written sample catalog is skipped once this has filled
+// the products collection. Everything is derived from shopnest.loadgen.seed, so two runs with the
+// same settings produce the same ids, catalog, carts and order history; only the order dates move,
+// as they are relative to the time of the run.
+@Component
+@Profile("loadgen")
+@org.springframework.core.annotation.Order(0)
+public class SyntheticDataGenerator implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final String EMAIL_DOMAIN = "load.shopnest.test";
+
+    private static final String[][] SUB_CATEGORIES = {
+            { "Men", "Shirts", "Pants", "Hoodies", "Jackets", "T-Shirts" },
+            { "Women", "Dresses", "Tops", "Jeans", "Skirts", "Knitwear" },
+            { "Footwear", "Sneakers", "Boots", "Sandals", "Loafers" },
+            { "Accessories", "Bags", "Watches", "Belts", "Sunglasses", "Hats" },
+    };
+    private static final String[] ADJECTIVES = { "Classic", "Slim Fit", "Relaxed", "Heavyweight", "Vintage",
+            "Organic", "Everyday", "Premium", "Cropped", "Oversized", "Tailored", "Lightweight" };
+    private static final String[] COLORS = { "Black", "White", "Navy", "Olive", "Sand", "Burgundy", "Grey", "Rust" };
+    private static final List<String> APPAREL_SIZES = Arrays.asList("XS", "S", "M", "L", "XL");
+    private static final List<String> SHOE_SIZES = Arrays.asList("38", "39", "40", "41", "42", "43", "44");
+    private static final List<String> ONE_SIZE = List.of("One Size");
+    // 2020-01-01: seeded ids sort before any id the running shop generates
+    private static final int ID_SECONDS = 1_577_836_800;
+    private static final int PRODUCT = 1, USER = 2, ORDER = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${shopnest.loadgen.products:1000000}")
+    private int productCount;
+
+    @Value("${shopnest.loadgen.users:200000}")
+    private int userCount;
+
+    @Value("${shopnest.loadgen.orders:2000000}")
+    private int orderCount;
+
+    @Value("${shopnest.loadgen.days:365}")
+    private int days;
+
+    @Value("${shopnest.loadgen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${shopnest.loadgen.seed:42}")
+    private long seed;
+
+    @Value("${shopnest.loadgen.reset:false}")
+    private boolean reset;
+
+    @Value("${shopnest.loadgen.password:loadtest123}")
+    private String password;
+
+    // Column-wise catalog kept for carts and orders; a few bytes per product instead of entities
+    private ObjectId[] productIds;
+    private double[] prices;
+
+    @Override
+    public void run(String... args) {
+        if (reset) {
+            // Emptied rather than dropped, so the indexes IndexBootstrap created stay in place
+            mongoTemplate.remove(new Query(), Product.class);
+            mongoTemplate.remove(new Query(), Order.class);
+            mongoTemplate.remove(Query.query(Criteria.where("email").regex("@" + EMAIL_DOMAIN.replace(".", "\\.") + "$")),
+                    User.class);
+        } else if (mongoTemplate.exists(Query.query(Criteria.where("email").is(email(0))), User.class)) {
+            logger.info("Synthetic data already present; set shopnest.loadgen.reset=true to regenerate");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        generateProducts(random);
+        ObjectId[] userIds = generateUsers(random);
+        generateOrders(random, userIds);
+        logger.info("Generated {} products, {} users and {} orders in {} ms", productCount, userCount, orderCount,
+                System.currentTimeMillis() - started);
+
+        productIds = null;
+        prices = null;
+    }
+
+    // --- Products ---
+
+    private void generateProducts(Random random) {
+        productIds = new ObjectId[productCount];
+        prices = new double[productCount];
+        List<Product> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < productCount; i++) {
+            String[] group = SUB_CATEGORIES[i % SUB_CATEGORIES.length];
+            String category = group[0];
+            String subCategory = group[1 + random.nextInt(group.length - 1)];
+            String gender = "Men".equals(category) || "Women".equals(category) ? category
+                    : random.nextBoolean() ? "Men" : "Women";
+            List<String> sizes = "Footwear".equals(category) ? SHOE_SIZES
+                    : "Accessories".equals(category) ? ONE_SIZE : APPAREL_SIZES;
+
+            // Log-normal-ish prices: most items are cheap, a long tail is expensive
+            double price = Math.round(Math.exp(2.5 + random.nextGaussian() * 0.6 + 1.2) * 100) / 100.0;
+            productIds[i] = seededId(PRODUCT, i);
+            prices[i] = price;
+
+            batch.add(new Product(productIds[i].toHexString(), productName(i, subCategory),
+                    "Synthetic " + subCategory.toLowerCase() + " for load testing, item " + i + ".", price,
+                    category, subCategory, gender, sizes,
+                    "https://picsum.photos/seed/shopnest" + i + "/600/800", null,
+                    random.nextInt(20) == 0 ? 0 : 50 + random.nextInt(5000)));
+            if (batch.size() == batchSize) {
+                flush(batch, Product.class, "products", i + 1, productCount);
+            }
+        }
+        flush(batch, Product.class, "products", productCount, productCount);
+    }
+
+    private static String productName(int index, String subCategory) {
+        return ADJECTIVES[index % ADJECTIVES.length] + " " + COLORS[(index / ADJECTIVES.length) % COLORS.length]
+                + " " + subCategory + " #" + index;
+    }
+
+    // --- Users ---
+
+    private ObjectId[] generateUsers(Random random) {
+        // One hash shared by every synthetic user: hashing millions of passwords would dominate the run
+        String hash = passwordEncoder.encode(password);
+        ObjectId[] userIds = new ObjectId[userCount];
+        List<User> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = seededId(USER, i);
+
+            List<User.CartItem> cart = new ArrayList<>();
+            // Roughly a third of shoppers have an open cart
+            if (random.nextInt(3) == 0) {
+                int lines = 1 + random.nextInt(6);
+                for (int line = 0; line < lines; line++) {
+                    cart.add(new User.CartItem(productIds[popularProduct(random)].toHexString(),
+                            1 + random.nextInt(3), "M", null));
+                }
+            }
+            Set<String> wishlist = new LinkedHashSet<>();
+            int wished = random.nextInt(4) == 0 ? random.nextInt(25) : 0;
+            for (int w = 0; w < wished; w++) {
+                wishlist.add(productIds[popularProduct(random)].toHexString());
+            }
+
+            batch.add(User.builder()
+                    .id(userIds[i].toHexString())
+                    .username("shopper" + i)
+                    .fullName("Load Shopper " + i)
+                    .email(email(i))
+                    .password(hash)
+                    .phone(String.format("+1555%07d", i % 10_000_000))
+                    .address(i + " Synthetic Street")
+                    .role("ROLE_USER")
+                    .cart(cart)
+                    .wishlistIds(new ArrayList<>(wishlist))
+                    .build());
+            if (batch.size() == batchSize) {
+                flush(batch, User.class, "users", i + 1, userCount);
+            }
+        }
+        flush(batch, User.class, "users", userCount, userCount);
+        return userIds;
+    }
+
+    public static String email(int index) {
+        return "shopper" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    // --- Orders ---
+
+    private void generateOrders(Random random, ObjectId[] userIds) {
+        long now = System.currentTimeMillis();
+        long spanMillis = days * 24L * 3600 * 1000;
+        List<Order> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < orderCount; i++) {
+            int user = popularUser(random);
+            // Skewed towards recent dates, as a growing shop would see
+            long ageMillis = (long) (spanMillis * Math.pow(random.nextDouble(), 2));
+
+            int lines = 1 + Math.min(random.nextInt(4), random.nextInt(4));
+            List<Order.OrderItem> items = new ArrayList<>(lines);
+            double total = 0;
+            for (int line = 0; line < lines; line++) {
+                int product = popularProduct(random);
+                int quantity = 1 + (random.nextInt(5) == 0 ? random.nextInt(3) : 0);
+                items.add(new Order.OrderItem(productIds[product].toHexString(),
+                        "Product #" + product, quantity, prices[product], "M"));
+                total += prices[product] * quantity;
+            }
+
+            batch.add(new Order(seededId(ORDER, i).toHexString(), userIds[user].toHexString(), "shopper" + user, items,
+                    Math.round(total * 100) / 100.0, status(ageMillis, random), new Date(now - ageMillis)));
+            if (batch.size() == batchSize) {
+                flush(batch, Order.class, "orders", i + 1, orderCount);
+            }
+        }
+        flush(batch, Order.class, "orders", orderCount, orderCount);
+    }
+
+    private static String status(long ageMillis, Random random) {
+        if (random.nextInt(20) == 0) {
+            return "CANCELLED";
+        }
+        long ageDays = ageMillis / (24L * 3600 * 1000);
+        return ageDays < 2 ? "PENDING" : ageDays < 7 ? "SHIPPED" : "DELIVERED";
+    }
+
+    // --- Helpers ---
+
+    // Timestamp, seed and kind, then the index: stable across runs and distinct per kind and seed
+    private ObjectId seededId(int kind, int index) {
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt(ID_SECONDS)
+                .putInt(kind << 24 | (int) (seed & 0xFFFFFF))
+                .putInt(index)
+                .array());
+    }
+
+    // Popularity follows a power law: a small head of the catalog gets most of the traffic
+    private int popularProduct(Random random) {
+        return (int) (productCount * Math.pow(random.nextDouble(), 3));
+    }
+
+    private int popularUser(Random random) {
+        return (int) (userCount * Math.pow(random.nextDouble(), 2));
+    }
+
+    private <T> void flush(List<T> batch, Class<T> type, String label, int done, int total) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(batch).execute();
+        batch.clear();
+        if (done % (batchSize * 20) < batchSize || done == total) {
+            logger.info("Inserted {}/{} {}", done, total, label);
+        }
+    }
+}
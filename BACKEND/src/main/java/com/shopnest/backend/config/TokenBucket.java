@@ -0,0 +1,34 @@
+package com.shopnest.backend.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket held in a single AtomicLong, in its "virtual scheduling" form: instead of a token
+// count and a refill timestamp, it stores the time at which the bucket would be full again. Taking
+// a token pushes that time forward by one interval; the request is refused when it would end up
+// more than burst intervals ahead of now. One CAS per request, no lock, no refill thread.
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double perSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    // 0 when a token was taken, otherwise how long until one is available
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
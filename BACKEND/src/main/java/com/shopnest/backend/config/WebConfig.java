@@ -1,10 +1,18 @@
 package com.shopnest.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 
 import java.io.IOException;
@@ -12,8 +20,35 @@ import java.io.IOException;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // indexed: the SPA is served from memory by StaticAssetFilter; classpath: resolved per request
+    @Value("${shopnest.static.mode:indexed}")
+    private String staticMode;
+
+    @Bean
+    @ConditionalOnProperty(name = "shopnest.static.mode", havingValue = "indexed", matchIfMissing = true)
+    public FilterRegistrationBean<StaticAssetFilter> staticAssetFilter() throws IOException {
+        FilterRegistrationBean<StaticAssetFilter> registration = new FilterRegistrationBean<>(
+                new StaticAssetFilter(StaticAssetIndex.load("classpath:/static/")));
+        registration.addUrlPatterns("/*");
+        // Ahead of Spring Security: static files are public and need no authentication work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // Versioned reads (ETag / Last-Modified) may be stored but must be revalidated on every use
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        WebContentInterceptor revalidate = new WebContentInterceptor();
+        revalidate.addCacheMapping(CacheControl.noCache(), "/api/products/**");
+        revalidate.addCacheMapping(CacheControl.noCache().cachePrivate(), "/api/orders/user/**");
+        registry.addInterceptor(revalidate);
+    }
+
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
+        if ("indexed".equals(staticMode)) {
+            return;
+        }
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
                 .resourceChain(true)
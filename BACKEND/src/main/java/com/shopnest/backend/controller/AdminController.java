@@ -1,19 +1,40 @@
 package com.shopnest.backend.controller;
 
+import com.shopnest.backend.dto.UserSummary;
 import com.shopnest.backend.model.Product;
 import com.shopnest.backend.model.Order;
 import com.shopnest.backend.model.User;
 import com.shopnest.backend.repository.ProductRepository;
 import com.shopnest.backend.repository.OrderRepository;
 import com.shopnest.backend.repository.UserRepository;
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.service.AdminStatsService;
+import com.shopnest.backend.service.InsufficientStockException;
+import com.shopnest.backend.service.InventoryService;
+import com.shopnest.backend.service.OrderMaintenanceService;
+import com.shopnest.backend.service.PasswordHashingService;
+import com.shopnest.backend.service.ProductBulkService;
+import com.shopnest.backend.service.ProductCache;
+import com.shopnest.backend.service.ProductService;
+import com.shopnest.backend.service.RelatedProductsIndex;
+import com.shopnest.backend.service.SalesRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -30,46 +51,105 @@ public class AdminController {
     private UserRepository userRepository;
 
     @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private ProductService productService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private OrderMaintenanceService orderMaintenanceService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private RelatedProductsIndex relatedProductsIndex;
 
     // --- Product Management ---
 
     @GetMapping("/products")
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String view) {
+        boolean summary = ProductController.isSummary(view);
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(summary ? productService.findAllSummaries() : productRepository.findAll());
+        }
+        try {
+            return ResponseEntity.ok(summary
+                    ? productService.findSummaryPage(null, cursor, limit)
+                    : productService.findPage(null, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @PostMapping("/products")
     public Product createProduct(@RequestBody @NonNull Product product) {
-        return productRepository.save(product);
+        return productService.create(product);
     }
 
     @PutMapping("/products/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable @NonNull String id,
             @RequestBody @NonNull Product productDetails) {
-        return productRepository.findById(id)
-                .map((@NonNull Product product) -> {
-                    product.setName(productDetails.getName());
-                    product.setDescription(productDetails.getDescription());
-                    product.setPrice(productDetails.getPrice());
-                    product.setCategory(productDetails.getCategory());
-                    product.setSubCategory(productDetails.getSubCategory());
-                    product.setGender(productDetails.getGender());
-                    product.setSizes(productDetails.getSizes());
-                    product.setImageUrl(productDetails.getImageUrl());
-                    product.setImages(productDetails.getImages());
-                    product.setStock(productDetails.getStock());
-                    return ResponseEntity.ok(productRepository.save(product));
-                }).orElse(ResponseEntity.notFound().build());
+        return productService.update(id, productDetails)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/products/{id}")
     public ResponseEntity<?> deleteProduct(@PathVariable @NonNull String id) {
-        return productRepository.findById(id)
-                .map((@NonNull Product product) -> {
-                    productRepository.delete(product);
-                    return ResponseEntity.ok().build();
-                }).orElse(ResponseEntity.notFound().build());
+        return productService.delete(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Body is NDJSON (one product per line) or CSV with a header row; format defaults to
+    // CSV when the request is sent as text/csv.
+    @PostMapping("/products/import")
+    public ResponseEntity<?> importProducts(jakarta.servlet.http.HttpServletRequest request,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer batchSize) throws java.io.IOException {
+        String resolvedFormat = format != null ? format
+                : request.getContentType() != null && request.getContentType().startsWith("text/csv")
+                        ? ProductBulkService.FORMAT_CSV
+                        : ProductBulkService.FORMAT_NDJSON;
+        try {
+            return ResponseEntity.ok(productBulkService.importProducts(request.getInputStream(), resolvedFormat, batchSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = ProductBulkService.FORMAT_NDJSON) String format) {
+        boolean csv = ProductBulkService.FORMAT_CSV.equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> productBulkService.exportProducts(format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header("Content-Disposition", "attachment; filename=products." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
     }
 
     // --- Order Management ---
@@ -80,92 +160,144 @@ public class AdminController {
     }
 
     @PutMapping("/orders/{id}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable @NonNull String id,
+    public ResponseEntity<?> updateOrderStatus(@PathVariable @NonNull String id,
             @RequestBody @NonNull String status) {
         return orderRepository.findById(id)
-                .map((@NonNull Order order) -> {
-                    order.setStatus(status.replace("\"", "")); // Removing quotes if sent as plain string
-                    return ResponseEntity.ok(orderRepository.save(order));
+                .<ResponseEntity<?>>map((@NonNull Order order) -> {
+                    String previousStatus = order.getStatus();
+                    String newStatus = status.replace("\"", ""); // Removing quotes if sent as plain string
+                    boolean hasItems = order.getItems() != null && !order.getItems().isEmpty();
+                    boolean cancelling = !"CANCELLED".equals(previousStatus) && "CANCELLED".equals(newStatus);
+                    boolean reopening = "CANCELLED".equals(previousStatus) && !"CANCELLED".equals(newStatus);
+
+                    // Reopening a cancelled order takes its stock again, before the status flips
+                    if (reopening && hasItems) {
+                        try {
+                            inventoryService.reserve(order.getItems());
+                        } catch (InsufficientStockException e) {
+                            return ResponseEntity.status(409).body("Error: " + e.getMessage());
+                        }
+                    }
+
+                    // Only the request that actually moves the order off previousStatus touches stock,
+                    // so concurrent PUTs or a bulk move cannot release twice or be overwritten
+                    Order savedOrder = orderMaintenanceService.changeStatus(id, previousStatus, newStatus);
+                    if (savedOrder == null) {
+                        if (reopening && hasItems) {
+                            inventoryService.release(order.getItems());
+                        }
+                        return ResponseEntity.status(409).body("Error: Order status changed concurrently, retry");
+                    }
+                    // Cancelling gives the stock back
+                    if (cancelling && hasItems) {
+                        inventoryService.release(order.getItems());
+                    }
+                    eventPublisher.publishEvent(new OrderChangedEvent(previousStatus, savedOrder));
+                    return ResponseEntity.ok(savedOrder);
                 }).orElse(ResponseEntity.notFound().build());
     }
 
     // --- User Management ---
 
+    // view=summary returns id, username, email and role only
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<?> getAllUsers(@RequestParam(required = false) String view) {
+        return ProductController.isSummary(view) ? userRepository.findAllBy(UserSummary.class) : userRepository.findAll();
     }
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = new HashMap<>();
+        return ResponseEntity.ok(adminStatsService.snapshot());
+    }
 
-        long totalUsers = userRepository.count();
-        long totalProducts = productRepository.count();
-        long newOrders = orderRepository.countByStatus("PENDING");
+    // Both resets run as a single server-side deleteMany. Pass batchSize (and optionally
+    // pauseMs) to delete in throttled chunks instead.
+    @DeleteMapping("/stats/sales")
+    public ResponseEntity<?> resetSales(@RequestParam(required = false) Integer batchSize,
+            @RequestParam(required = false) Long pauseMs) {
+        long deleted = orderMaintenanceService.deleteWhere(where("status").ne("CANCELLED"), batchSize, pauseMs);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
 
-        List<Order> orders = orderRepository.findAll();
-        double totalSales = orders.stream()
-                .filter(o -> !"CANCELLED".equals(o.getStatus()))
-                .mapToDouble(Order::getTotalAmount)
-                .sum();
+    @DeleteMapping("/stats/orders")
+    public ResponseEntity<?> resetOrders(@RequestParam(required = false) Integer batchSize,
+            @RequestParam(required = false) Long pauseMs) {
+        long deleted = orderMaintenanceService.deleteWhere(where("status").is("PENDING"), batchSize, pauseMs);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
 
-        stats.put("totalUsers", totalUsers);
-        stats.put("totalProducts", totalProducts);
-        stats.put("newOrders", newOrders);
-        stats.put("totalSales", totalSales);
+    // --- Sales Analytics ---
 
-        // Add recent activity (latest 5 orders)
-        List<Order> recentOrders = orders.stream()
-                .sorted((o1, o2) -> o2.getOrderDate().compareTo(o1.getOrderDate()))
-                .limit(5)
-                .collect(Collectors.toList());
-        stats.put("recentActivity", recentOrders);
+    // Served from the hourly/daily rollups. Defaults to the last 7 days; granularity defaults to
+    // hour for windows up to 3 days and day beyond that.
+    @GetMapping("/analytics/sales")
+    public ResponseEntity<?> getSales(@RequestParam(defaultValue = SalesRollupService.CATEGORY) String dimension,
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Date end = Date.from(to != null ? to : Instant.now());
+        Date start = Date.from(from != null ? from : end.toInstant().minus(Duration.ofDays(7)));
+        try {
+            return ResponseEntity.ok(salesRollupService.query(
+                    granularity != null ? granularity : SalesRollupService.defaultGranularity(start, end),
+                    dimension, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
 
-        return ResponseEntity.ok(stats);
+    @PostMapping("/analytics/rollups/rebuild")
+    public ResponseEntity<?> rebuildSalesRollups() {
+        boolean started = salesRollupService.requestBackfill();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("started", started, "running", salesRollupService.isBackfillRunning()));
     }
 
-    @DeleteMapping("/stats/sales")
-    public ResponseEntity<?> resetSales() {
-        List<Order> ordersToReset = orderRepository.findAll().stream()
-                .filter(o -> !"CANCELLED".equals(o.getStatus()))
-                .collect(Collectors.toList());
-        if (ordersToReset != null && !ordersToReset.isEmpty()) {
-            orderRepository.deleteAll(ordersToReset);
-        }
-        return ResponseEntity.ok().build();
+    // Recomputes "frequently bought together" from the full order history in the background
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<?> rebuildRecommendations() {
+        boolean started = relatedProductsIndex.requestRebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("started", started, "running", relatedProductsIndex.isRebuilding()));
     }
 
-    @DeleteMapping("/stats/orders")
-    public ResponseEntity<?> resetOrders() {
-        List<Order> ordersToReset = orderRepository.findAll().stream()
-                .filter(o -> "PENDING".equals(o.getStatus()))
-                .collect(Collectors.toList());
-        if (ordersToReset != null && !ordersToReset.isEmpty()) {
-            orderRepository.deleteAll(ordersToReset);
+    @PutMapping("/orders/status/bulk")
+    public ResponseEntity<?> bulkUpdateOrderStatus(@RequestParam @NonNull String from,
+            @RequestParam @NonNull String to,
+            @RequestParam(required = false) Integer batchSize,
+            @RequestParam(required = false) Long pauseMs) {
+        try {
+            long modified = orderMaintenanceService.updateStatus(from, to, batchSize, pauseMs);
+            return ResponseEntity.ok(Map.of("modified", modified));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
-        return ResponseEntity.ok().build();
     }
 
     @PostMapping("/register-admin")
-    public ResponseEntity<?> registerAdmin(@RequestBody @NonNull User adminUser) {
+    public CompletableFuture<ResponseEntity<?>> registerAdmin(@RequestBody @NonNull User adminUser) {
         if (userRepository.existsByUsername(adminUser.getUsername())) {
-            return ResponseEntity.badRequest().body("Error: Username is already taken!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Username is already taken!"));
         }
 
         if (userRepository.existsByEmail(adminUser.getEmail())) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Email is already in use!"));
         }
 
         // Force ROLE_ADMIN
         adminUser.setRole("ROLE_ADMIN");
 
         // Hash password
-        adminUser.setPassword(passwordEncoder.encode(adminUser.getPassword()));
+        return passwordHashingService.encode(adminUser.getPassword())
+                .<ResponseEntity<?>>thenApply(hash -> {
+                    adminUser.setPassword(hash);
 
-        // Save new admin
-        userRepository.save(adminUser);
+                    // Save new admin
+                    userRepository.save(adminUser);
+                    adminStatsService.userRegistered();
 
-        return ResponseEntity.ok("Admin registered successfully!");
+                    return ResponseEntity.ok("Admin registered successfully!");
+                })
+                .exceptionally(AsyncResponses::fromFailure);
     }
 }
@@ -0,0 +1,29 @@
+package com.shopnest.backend.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+// Maps failures of CompletableFuture-based handlers to responses.
+final class AsyncResponses {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncResponses.class);
+
+    private AsyncResponses() {
+    }
+
+    static ResponseEntity<?> fromFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503)
+                    .header("Retry-After", "1")
+                    .body("Error: Server is busy, please retry shortly.");
+        }
+        logger.error("Request failed: {}", cause.getMessage(), cause);
+        return ResponseEntity.internalServerError().body("Error: " + cause.getMessage());
+    }
+}
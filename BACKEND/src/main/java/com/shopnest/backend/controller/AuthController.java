@@ -2,11 +2,13 @@ package com.shopnest.backend.controller;
 
 import com.shopnest.backend.model.User;
 import com.shopnest.backend.repository.UserRepository;
+import com.shopnest.backend.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.lang.NonNull;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -17,48 +19,72 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private com.shopnest.backend.config.JwtUtils jwtUtils;
 
+    @Autowired
+    private com.shopnest.backend.service.AdminStatsService adminStatsService;
+
+    @Autowired
+    private com.shopnest.backend.service.CartHydrationService cartHydrationService;
+
+    // Hashing runs on the dedicated BCrypt pool; the request thread is released meanwhile
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody @NonNull User user) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody @NonNull User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
-            return ResponseEntity.badRequest().body("Error: Username is already taken!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Username is already taken!"));
         }
 
         if (userRepository.existsByEmail(user.getEmail())) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Error: Email is already in use!"));
         }
 
         // All public registrations get ROLE_USER
         user.setRole("ROLE_USER");
 
         // --- PASSWORD HASHING ---
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        return passwordHashingService.encode(user.getPassword())
+                .<ResponseEntity<?>>thenApply(hash -> {
+                    user.setPassword(hash);
 
-        // Save new user to the database
-        userRepository.save(user);
+                    // Save new user to the database
+                    userRepository.save(user);
+                    adminStatsService.userRegistered();
 
-        return ResponseEntity.ok("User registered successfully!");
+                    return ResponseEntity.ok("User registered successfully!");
+                })
+                .exceptionally(AsyncResponses::fromFailure);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody @NonNull User loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody @NonNull User loginRequest) {
         Optional<User> user = userRepository.findByEmail(loginRequest.getEmail());
+        if (user.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Error: Invalid email or password!"));
+        }
 
         // --- PASSWORD VERIFICATION ---
-        if (user.isPresent() && passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword())) {
-            String jwt = jwtUtils.generateJwtToken(user.get().getEmail());
+        return passwordHashingService.verify(loginRequest.getPassword(), user.get().getPassword())
+                .<ResponseEntity<?>>thenApply(check -> {
+                    if (!check.isMatched()) {
+                        return ResponseEntity.status(401).body("Error: Invalid email or password!");
+                    }
+                    // Stored hash used an older cost factor: replace it transparently
+                    if (check.getUpgradedHash() != null) {
+                        userRepository.updateFields(user.get().getId(),
+                                java.util.Map.of("password", check.getUpgradedHash()));
+                    }
 
-            java.util.Map<String, Object> response = new java.util.HashMap<>();
-            response.put("token", jwt);
-            response.put("user", user.get());
+                    String jwt = jwtUtils.generateJwtToken(user.get().getEmail(), user.get().getRole());
 
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(401).body("Error: Invalid email or password!");
-        }
+                    java.util.Map<String, Object> response = new java.util.HashMap<>();
+                    response.put("token", jwt);
+                    response.put("user", cartHydrationService.hydrate(user.get()));
+
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(AsyncResponses::fromFailure);
     }
 }
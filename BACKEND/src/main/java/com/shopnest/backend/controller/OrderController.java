@@ -1,13 +1,28 @@
 package com.shopnest.backend.controller;
 
+import com.shopnest.backend.dto.CursorPage;
+import com.shopnest.backend.dto.OrderSummary;
+import com.shopnest.backend.dto.ResourceVersion;
+import com.shopnest.backend.event.OrderChangedEvent;
 import com.shopnest.backend.model.Order;
 import com.shopnest.backend.repository.OrderRepository;
+import com.shopnest.backend.service.InsufficientStockException;
+import com.shopnest.backend.service.InventoryService;
+import com.shopnest.backend.service.OrderHistoryService;
+import com.shopnest.backend.service.OrderIngestionService;
+import com.shopnest.backend.service.OrderVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -16,20 +31,114 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderVersions orderVersions;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    // async: queue and group-commit (202 + status endpoint) | sync: save on the request thread (200)
+    @Value("${shopnest.orders.ingest.mode:async}")
+    private String ingestMode;
+
     @PostMapping
     public ResponseEntity<?> createOrder(@RequestBody Order order) {
         order.setOrderDate(new Date());
         order.setStatus("PENDING");
-        Order savedOrder = orderRepository.save(order);
+
+        // --- STOCK RESERVATION ---
+        try {
+            inventoryService.reserve(order.getItems());
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(409).body("Error: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+
+        if ("async".equalsIgnoreCase(ingestMode)) {
+            // Acknowledged once queued and journaled; poll /api/orders/{id}/status for the write
+            try {
+                Order accepted = orderIngestionService.submit(order);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/orders/" + accepted.getId() + "/status"))
+                        .body(accepted);
+            } catch (RejectedExecutionException e) {
+                inventoryService.release(order.getItems());
+                return AsyncResponses.fromFailure(e);
+            }
+        }
+
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            inventoryService.release(order.getItems());
+            throw e;
+        }
+        eventPublisher.publishEvent(new OrderChangedEvent(null, savedOrder));
         return ResponseEntity.ok(savedOrder);
     }
 
+    // QUEUED, RETRYING, CONFIRMED or FAILED; ids the pipeline no longer remembers are looked up
+    @GetMapping("/{id}/status")
+    public ResponseEntity<?> getOrderStatus(@PathVariable String id) {
+        String status = orderIngestionService.status(id);
+        if (status == null) {
+            if (!orderRepository.existsById(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            status = OrderIngestionService.CONFIRMED;
+        }
+        return ResponseEntity.ok(Map.of("id", id, "status", status));
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable String userId) {
+    public ResponseEntity<List<Order>> getUserOrders(@PathVariable String userId, WebRequest webRequest) {
+        // 304 straight from the per-user version, without querying orders
+        ResourceVersion version = orderVersions.forUser(userId);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         List<Order> orders = orderRepository.findByUserId(userId);
         return ResponseEntity.ok(orders);
     }
 
+    // Paged, newest-first summaries for the order list; follow nextCursor for older orders.
+    // e.g. /api/orders/user/{userId}/history?limit=20&status=DELIVERED
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<?> getUserOrderHistory(@PathVariable String userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor, WebRequest webRequest) {
+        ResourceVersion version = orderVersions.forUser(userId);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        try {
+            CursorPage<OrderSummary> page = orderHistoryService.findHistory(userId, status, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Full order, items included, for the detail view
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getOrder(@PathVariable String id) {
+        return orderRepository.findById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping
     public ResponseEntity<List<Order>> getAllOrders() {
         return ResponseEntity.ok(orderRepository.findAll());
@@ -1,12 +1,28 @@
 package com.shopnest.backend.controller;
 
+import com.shopnest.backend.dto.ProductSearchRequest;
+import com.shopnest.backend.dto.ProductSearchResult;
+import com.shopnest.backend.dto.ProductSummary;
+import com.shopnest.backend.dto.ResourceVersion;
+import com.shopnest.backend.dto.Suggestion;
 import com.shopnest.backend.model.Product;
 import com.shopnest.backend.repository.ProductRepository;
+import com.shopnest.backend.service.CatalogVersion;
+import com.shopnest.backend.service.ProductSearchIndex;
+import com.shopnest.backend.service.ProductService;
+import com.shopnest.backend.service.ProductSuggestIndex;
+import com.shopnest.backend.service.RelatedProductsIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -16,18 +32,120 @@ public class ProductController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private RelatedProductsIndex relatedProductsIndex;
+
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+
+    // Read endpoints answer If-None-Match / If-Modified-Since with 304 before loading anything;
+    // checkNotModified also sets ETag and Last-Modified on the full response.
+
+    // Without limit/cursor the full list is returned, as before. With either one the
+    // response is a CursorPage whose nextCursor continues the listing.
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String view, WebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.current())) {
+            return null;
+        }
+        boolean summary = isSummary(view);
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(summary ? productService.findAllSummaries() : productRepository.findAll());
+        }
+        try {
+            return ResponseEntity.ok(summary
+                    ? productService.findSummaryPage(null, cursor, limit)
+                    : productService.findPage(null, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamProducts(@RequestParam(required = false) String category) {
+        StreamingResponseBody body = out -> productService.streamProducts(category, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // e.g. /api/products/search?category=Men&size=M,L&minPrice=20&maxPrice=80&inStock=true&sort=price_asc
+    @GetMapping("/search")
+    public ProductSearchResult searchProducts(ProductSearchRequest request, WebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.current())) {
+            return null;
+        }
+        return productSearchIndex.search(request);
+    }
+
+    // Typeahead: ranked product, category and subcategory suggestions for a prefix of any word,
+    // e.g. /api/products/suggest?q=slim%20sh
+    @GetMapping("/suggest")
+    public List<Suggestion> suggest(@RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return productSuggestIndex.suggest(q, Math.min(limit, ProductSuggestIndex.MAX_LIMIT));
     }
 
     @GetMapping("/category/{category}")
-    public List<Product> getProductsByCategory(@PathVariable @NonNull String category) {
-        return productRepository.findByCategory(category);
+    public ResponseEntity<?> getProductsByCategory(@PathVariable @NonNull String category,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String view, WebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.current())) {
+            return null;
+        }
+        boolean summary = isSummary(view);
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(summary
+                    ? productService.findSummariesByCategory(category)
+                    : productService.findByCategory(category));
+        }
+        try {
+            return ResponseEntity.ok(summary
+                    ? productService.findSummaryPage(category, cursor, limit)
+                    : productService.findPage(category, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public Product getProductById(@PathVariable @NonNull String id) {
-        return productRepository.findById(id).orElse(null);
+    public Product getProductById(@PathVariable @NonNull String id, WebRequest webRequest) {
+        if (notModified(webRequest, catalogVersion.forProduct(id))) {
+            return null;
+        }
+        return productService.findById(id).orElse(null);
+    }
+
+    // Products most often bought together with this one, best first, from the precomputed index.
+    // Unknown ids and products without co-purchases give an empty list.
+    @GetMapping("/{id}/related")
+    public List<ProductSummary> getRelatedProducts(@PathVariable @NonNull String id,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<String> ids = relatedProductsIndex.relatedTo(id, Math.max(1, Math.min(limit, 50)));
+        Map<String, Product> products = productService.findAllById(ids);
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(ProductSummary::of)
+                .toList();
+    }
+
+    // view=summary returns ProductSummary items (id, name, price, imageUrl, stock); default is the full product
+    static boolean isSummary(String view) {
+        return "summary".equalsIgnoreCase(view);
+    }
+
+    private static boolean notModified(WebRequest webRequest, ResourceVersion version) {
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
     }
 }
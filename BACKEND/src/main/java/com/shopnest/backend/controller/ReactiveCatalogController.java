@@ -0,0 +1,57 @@
+package com.shopnest.backend.controller;
+
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.repository.reactive.ReactiveOrderRepository;
+import com.shopnest.backend.repository.reactive.ReactiveProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterparts of the read-heavy catalog and order endpoints, enabled with
+// shopnest.execution.mode=reactive. The servlet thread is released while Mongo answers.
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/rx")
+@ConditionalOnProperty(name = "shopnest.execution.mode", havingValue = "reactive")
+public class ReactiveCatalogController {
+
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private ReactiveOrderRepository orderRepository;
+
+    @GetMapping("/products")
+    public Flux<Product> getAllProducts() {
+        return productRepository.findAll();
+    }
+
+    // Accept: application/x-ndjson streams products as they arrive from the cursor
+    @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Product> streamProducts() {
+        return productRepository.findAll();
+    }
+
+    @GetMapping("/products/category/{category}")
+    public Flux<Product> getProductsByCategory(@PathVariable @NonNull String category) {
+        return productRepository.findByCategory(category);
+    }
+
+    @GetMapping("/products/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(@PathVariable @NonNull String id) {
+        return productRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/orders/user/{userId}")
+    public Flux<Order> getUserOrders(@PathVariable @NonNull String userId) {
+        return orderRepository.findByUserId(userId);
+    }
+}
@@ -2,10 +2,11 @@ package com.shopnest.backend.controller;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.shopnest.backend.dto.UserSummary;
 import com.shopnest.backend.repository.UserRepository;
-import com.shopnest.backend.model.User;
 import java.util.List;
 
 @RestController
@@ -16,7 +17,7 @@ public class TestController {
     private UserRepository userRepository;
 
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<?> getAllUsers(@RequestParam(required = false) String view) {
+        return "summary".equalsIgnoreCase(view) ? userRepository.findAllBy(UserSummary.class) : userRepository.findAll();
     }
 }
@@ -4,12 +4,16 @@ import com.shopnest.backend.model.User;
 import com.shopnest.backend.model.Product;
 import com.shopnest.backend.model.User.CartItem;
 import com.shopnest.backend.repository.UserRepository;
+import com.shopnest.backend.service.CartHydrationService;
+import com.shopnest.backend.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.lang.NonNull;
 import java.util.Optional;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -20,7 +24,10 @@ public class UserController {
     private UserRepository userRepository;
 
     @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private CartHydrationService cartHydrationService;
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUserProfile(@PathVariable @NonNull String id,
@@ -30,28 +37,35 @@ public class UserController {
         if (userOptional.isPresent()) {
             User user = userOptional.get();
             // --- PROFILE UPDATE LOGIC ---
-            user.setFullName(updatedUser.getFullName());
-            user.setEmail(updatedUser.getEmail());
-            user.setPhone(updatedUser.getPhone());
-            user.setAddress(updatedUser.getAddress());
+            // Only profile fields are written, so a concurrent cart update is not overwritten
+            java.util.Map<String, Object> fields = new java.util.HashMap<>();
+            fields.put("fullName", updatedUser.getFullName());
+            fields.put("email", updatedUser.getEmail());
+            fields.put("phone", updatedUser.getPhone());
+            fields.put("address", updatedUser.getAddress());
 
             // Check if username/email already exists for other users
             if (updatedUser.getUsername() != null && !updatedUser.getUsername().equals(user.getUsername())) {
                 if (userRepository.existsByUsername(updatedUser.getUsername())) {
                     return ResponseEntity.badRequest().body("Error: Username is already taken!");
                 }
+                fields.put("username", updatedUser.getUsername());
                 user.setUsername(updatedUser.getUsername());
             }
 
-            userRepository.save(user);
-            return ResponseEntity.ok(user);
+            userRepository.updateFields(id, fields);
+            user.setFullName(updatedUser.getFullName());
+            user.setEmail(updatedUser.getEmail());
+            user.setPhone(updatedUser.getPhone());
+            user.setAddress(updatedUser.getAddress());
+            return ResponseEntity.ok(cartHydrationService.hydrate(user));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @PostMapping("/{id}/change-password")
-    public ResponseEntity<?> changePassword(@PathVariable @NonNull String id,
+    public CompletableFuture<ResponseEntity<?>> changePassword(@PathVariable @NonNull String id,
             @RequestBody java.util.Map<String, String> passwordRequest) {
         Optional<User> userOptional = userRepository.findById(id);
 
@@ -60,57 +74,136 @@ public class UserController {
             String currentPassword = passwordRequest.get("currentPassword");
             String newPassword = passwordRequest.get("newPassword");
 
-            // --- BCrypt PASSWORD VERIFICATION ---
-            if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
-                return ResponseEntity.badRequest().body("Error: Current password is incorrect!");
-            }
-
-            // --- BCrypt PASSWORD ENCODING ---
-            user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
-            return ResponseEntity.ok("Password updated successfully!");
+            // --- BCrypt PASSWORD VERIFICATION + ENCODING (on the hashing pool) ---
+            return passwordHashingService.matches(currentPassword, user.getPassword())
+                    .thenCompose(matched -> matched
+                            ? passwordHashingService.encode(newPassword)
+                            : CompletableFuture.completedFuture((String) null))
+                    .<ResponseEntity<?>>thenApply(hash -> {
+                        if (hash == null) {
+                            return ResponseEntity.badRequest().body("Error: Current password is incorrect!");
+                        }
+                        userRepository.updateFields(id, java.util.Map.of("password", hash));
+                        return ResponseEntity.ok("Password updated successfully!");
+                    })
+                    .exceptionally(AsyncResponses::fromFailure);
         } else {
-            return ResponseEntity.notFound().build();
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
         }
     }
 
     @GetMapping("/{id}/cart")
     public ResponseEntity<?> getCart(@PathVariable @NonNull String id) {
-        return userRepository.findById(id)
-                .map(user -> ResponseEntity.ok(user.getCart()))
+        return userRepository.findCart(id)
+                .<ResponseEntity<?>>map(cart -> ResponseEntity.ok(cartHydrationService.hydrateCart(cart)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Items may carry a full product (as the storefront sends them); only its id is stored
     @PostMapping("/{id}/cart")
     public ResponseEntity<?> syncCart(@PathVariable @NonNull String id,
             @RequestBody List<CartItem> cart) {
-        Optional<User> userOptional = userRepository.findById(id);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            user.setCart(cart);
-            userRepository.save(user);
-            return ResponseEntity.ok(user.getCart());
+        List<CartItem> references = cart.stream()
+                .filter(item -> item.getProductId() != null)
+                .map(item -> new CartItem(item.getProductId(), item.getQuantity(), item.getSelectedSize(), null))
+                .collect(Collectors.toList());
+        if (userRepository.updateFields(id, java.util.Map.of("cart", references))) {
+            return ResponseEntity.ok(cartHydrationService.hydrateCart(references));
         }
         return ResponseEntity.notFound().build();
     }
 
     @GetMapping("/{id}/wishlist")
     public ResponseEntity<?> getWishlist(@PathVariable @NonNull String id) {
-        return userRepository.findById(id)
-                .map(user -> ResponseEntity.ok(user.getWishlist()))
+        return userRepository.findWishlistIds(id)
+                .<ResponseEntity<?>>map(ids -> ResponseEntity.ok(cartHydrationService.hydrateWishlist(ids)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{id}/wishlist")
     public ResponseEntity<?> syncWishlist(@PathVariable @NonNull String id,
             @RequestBody List<Product> wishlist) {
-        Optional<User> userOptional = userRepository.findById(id);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            user.setWishlist(wishlist);
-            userRepository.save(user);
-            return ResponseEntity.ok(user.getWishlist());
+        List<String> productIds = wishlist.stream()
+                .map(Product::getId)
+                .filter(productId -> productId != null)
+                .distinct()
+                .collect(Collectors.toList());
+        if (userRepository.updateFields(id, java.util.Map.of("wishlistIds", productIds))) {
+            return ResponseEntity.ok(cartHydrationService.hydrateWishlist(productIds));
         }
         return ResponseEntity.notFound().build();
     }
+
+    // --- Cart Deltas ---
+    // Each call is a single targeted update on users.cart instead of a full-document save.
+
+    @PostMapping("/{id}/cart/items")
+    public ResponseEntity<?> addCartItem(@PathVariable @NonNull String id, @RequestBody CartItem item) {
+        if (item.getProductId() == null) {
+            return ResponseEntity.badRequest().body("Error: Cart item needs a product id!");
+        }
+        if (item.getQuantity() == null || item.getQuantity() <= 0) {
+            item.setQuantity(1);
+        }
+        return userRepository.addCartItem(id, item)
+                .<ResponseEntity<?>>map(items -> ResponseEntity.ok(cartHydrationService.hydrateCart(items)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Body: {"quantity": 2, "selectedSize": "L"}; the size query parameter picks the cart line
+    @PatchMapping("/{id}/cart/items/{productId}")
+    public ResponseEntity<?> updateCartItem(@PathVariable @NonNull String id, @PathVariable @NonNull String productId,
+            @RequestParam(required = false) String size,
+            @RequestBody java.util.Map<String, Object> changes) {
+        Integer quantity = changes.get("quantity") instanceof Number n ? n.intValue() : null;
+        if (quantity != null && quantity <= 0) {
+            return removeCartItem(id, productId, size);
+        }
+        String newSize = (String) changes.get("selectedSize");
+        return userRepository.updateCartItem(id, productId, size, quantity, newSize)
+                .<ResponseEntity<?>>map(items -> ResponseEntity.ok(cartHydrationService.hydrateCart(items)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/cart/items/{productId}")
+    public ResponseEntity<?> removeCartItem(@PathVariable @NonNull String id, @PathVariable @NonNull String productId,
+            @RequestParam(required = false) String size) {
+        return userRepository.removeCartItem(id, productId, size)
+                .<ResponseEntity<?>>map(items -> ResponseEntity.ok(cartHydrationService.hydrateCart(items)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/cart")
+    public ResponseEntity<?> clearCart(@PathVariable @NonNull String id) {
+        return userRepository.clearCart(id)
+                .<ResponseEntity<?>>map(items -> ResponseEntity.ok(cartHydrationService.hydrateCart(items)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // --- Wishlist Deltas ---
+
+    @PostMapping("/{id}/wishlist/items")
+    public ResponseEntity<?> addWishlistItem(@PathVariable @NonNull String id, @RequestBody Product product) {
+        if (product.getId() == null) {
+            return ResponseEntity.badRequest().body("Error: Wishlist item needs a product id!");
+        }
+        return userRepository.addWishlistItem(id, product.getId())
+                .<ResponseEntity<?>>map(ids -> ResponseEntity.ok(cartHydrationService.hydrateWishlist(ids)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/wishlist/items/{productId}")
+    public ResponseEntity<?> removeWishlistItem(@PathVariable @NonNull String id,
+            @PathVariable @NonNull String productId) {
+        return userRepository.removeWishlistItem(id, productId)
+                .<ResponseEntity<?>>map(ids -> ResponseEntity.ok(cartHydrationService.hydrateWishlist(ids)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/wishlist")
+    public ResponseEntity<?> clearWishlist(@PathVariable @NonNull String id) {
+        return userRepository.clearWishlist(id)
+                .<ResponseEntity<?>>map(ids -> ResponseEntity.ok(cartHydrationService.hydrateWishlist(ids)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,20 @@
+package com.shopnest.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// List-view projection of an order: everything but the item array, which is only
+// loaded by the detail endpoint.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    private String id;
+    private String status;
+    private Date orderDate;
+    private Double totalAmount;
+    private Integer itemCount;
+}
@@ -0,0 +1,22 @@
+package com.shopnest.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Values within a facet are OR-ed, facets are AND-ed together.
+@Data
+@NoArgsConstructor
+public class ProductSearchRequest {
+    private List<String> category;
+    private List<String> subCategory;
+    private List<String> gender;
+    private List<String> size;
+    private Double minPrice;
+    private Double maxPrice;
+    private boolean inStock;
+    private String sort; // price_asc, price_desc, name; anything else keeps catalog order
+    private int offset = 0;
+    private int limit = 24;
+}
@@ -0,0 +1,18 @@
+package com.shopnest.backend.dto;
+
+import com.shopnest.backend.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResult {
+    private int total;
+    private List<Product> items;
+    private Map<String, Map<String, Integer>> facets; // facet -> value -> matching products
+}
@@ -0,0 +1,24 @@
+package com.shopnest.backend.dto;
+
+import com.shopnest.backend.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Listing view of a product (?view=summary). Used as a repository projection, so Mongo only
+// returns these fields; imageUrl is the card thumbnail.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummary {
+    private String id;
+    private String name;
+    private Double price;
+    private String imageUrl;
+    private Integer stock;
+
+    public static ProductSummary of(Product product) {
+        return new ProductSummary(product.getId(), product.getName(), product.getPrice(), product.getImageUrl(),
+                product.getStock());
+    }
+}
@@ -0,0 +1,12 @@
+package com.shopnest.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Validator pair for conditional GETs: a strong ETag plus Last-Modified in epoch millis.
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;
+}
@@ -0,0 +1,22 @@
+package com.shopnest.backend.dto;
+
+import com.shopnest.backend.model.SalesRollup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+// Chart data for one window: buckets in time order (several keys per bucket) and the window totals per key.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSeries {
+    private String granularity;
+    private String dimension;
+    private Date from;
+    private Date to;
+    private List<SalesRollup> points;
+    private List<SalesRollup> totals;
+}
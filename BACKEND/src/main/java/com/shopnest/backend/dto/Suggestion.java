@@ -0,0 +1,19 @@
+package com.shopnest.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One typeahead suggestion. type is product, category or subCategory; productId, imageUrl and
+// price are only set for products, category is the parent category of products and subcategories.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String type;
+    private String productId;
+    private String category;
+    private String imageUrl;
+    private Double price;
+}
@@ -0,0 +1,11 @@
+package com.shopnest.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a bulk catalog write; listeners should rebuild rather than patch.
+@Getter
+@AllArgsConstructor
+public class CatalogReloadedEvent {
+    private final long affected;
+}
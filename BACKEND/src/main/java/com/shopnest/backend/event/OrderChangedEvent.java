@@ -0,0 +1,17 @@
+package com.shopnest.backend.event;
+
+import com.shopnest.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after an order is persisted. previousStatus is null for a newly created order.
+@Getter
+@AllArgsConstructor
+public class OrderChangedEvent {
+    private final String previousStatus;
+    private final Order order;
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.shopnest.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a bulk maintenance command touched orders without loading them, so
+// anything derived from individual orders has to be recomputed.
+@Getter
+@AllArgsConstructor
+public class OrdersBulkChangedEvent {
+    private final String operation;
+    private final long affected;
+}
@@ -0,0 +1,15 @@
+package com.shopnest.backend.event;
+
+import com.shopnest.backend.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Published once per batch written by the order ingest writer, so listeners can apply a whole
+// group commit in one step. Every order is new; each is covered by this event only.
+@Getter
+@AllArgsConstructor
+public class OrdersCreatedEvent {
+    private final List<Order> orders;
+}
@@ -0,0 +1,13 @@
+package com.shopnest.backend.event;
+
+import com.shopnest.backend.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a product write. previous is null on create, current is null on delete.
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final Product previous;
+    private final Product current;
+}
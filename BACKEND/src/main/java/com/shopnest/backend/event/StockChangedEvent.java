@@ -0,0 +1,12 @@
+package com.shopnest.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when checkout sells a product out or a release puts it back in stock.
+@Getter
+@AllArgsConstructor
+public class StockChangedEvent {
+    private final String productId;
+    private final boolean inStock;
+}
@@ -1,6 +1,9 @@
 package com.shopnest.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,8 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "orders")
+// Order history: equality on userId, newest first, _id as the keyset tie-breaker
+@CompoundIndex(name = "userId_orderDate_id", def = "{'userId': 1, 'orderDate': -1, '_id': -1}")
 public class Order {
     @Id
     private String id;
@@ -19,7 +24,9 @@ public class Order {
     private String username;
     private List<OrderItem> items;
     private Double totalAmount;
+    @Indexed
     private String status; // PENDING, SHIPPED, DELIVERED, CANCELLED
+    @Indexed(direction = IndexDirection.DESCENDING) // recent orders, date-range maintenance
     private Date orderDate;
 
     @Data
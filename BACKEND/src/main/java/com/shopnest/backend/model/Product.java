@@ -1,6 +1,7 @@
 package com.shopnest.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,8 @@ import lombok.AllArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "products")
+// Category listings, paged by _id
+@CompoundIndex(name = "category_id", def = "{'category': 1, '_id': 1}")
 public class Product {
     @Id
     private String id;
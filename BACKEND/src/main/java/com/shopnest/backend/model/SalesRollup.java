@@ -0,0 +1,32 @@
+package com.shopnest.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.Date;
+
+// One pre-aggregated bucket: sales in [bucket, bucket + 1 hour/day) for one category or one
+// status. _id is derived from (granularity, bucket, dimension, key) so increments can upsert.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "sales_rollups")
+@CompoundIndex(name = "granularity_dimension_bucket", def = "{'granularity': 1, 'dimension': 1, 'bucket': 1}")
+public class SalesRollup {
+    @Id
+    @JsonIgnore
+    private String id;
+    private String granularity; // hour, day
+    private Date bucket; // UTC start of the bucket
+    private String dimension; // category, status
+    private String key; // e.g. Men, DELIVERED
+    private Double revenue;
+    private Long orders;
+    private Long units;
+    @JsonIgnore
+    private Long generation; // backfill run that last rewrote this bucket, or when an increment created it
+}
@@ -1,6 +1,7 @@
 package com.shopnest.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,8 +16,10 @@ import lombok.Builder;
 public class User {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String username;
     private String fullName;
+    @Indexed(unique = true)
     private String email;
     @com.fasterxml.jackson.annotation.JsonProperty(access = com.fasterxml.jackson.annotation.JsonProperty.Access.WRITE_ONLY)
     private String password;
@@ -24,14 +27,26 @@ public class User {
     private String address;
     private String role; // ROLE_USER, ROLE_ADMIN
     private java.util.List<CartItem> cart;
-    private java.util.List<Product> wishlist;
+    private java.util.List<String> wishlistIds; // Stored as product references
+    @org.springframework.data.annotation.Transient
+    private java.util.List<Product> wishlist; // Hydrated from the catalog on read
 
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class CartItem {
-        private Product product;
+        private String productId;
         private Integer quantity;
         private String selectedSize;
+        @org.springframework.data.annotation.Transient
+        private Product product; // Hydrated from the catalog on read, never stored
+
+        public CartItem(Product product, Integer quantity, String selectedSize) {
+            this(product != null ? product.getId() : null, quantity, selectedSize, product);
+        }
+
+        public String getProductId() {
+            return productId != null ? productId : product != null ? product.getId() : null;
+        }
     }
 }
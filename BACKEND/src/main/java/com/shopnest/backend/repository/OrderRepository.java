@@ -4,8 +4,10 @@ import com.shopnest.backend.model.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
-public interface OrderRepository extends MongoRepository<Order, String> {
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
     List<Order> findByUserId(String userId);
 
     long countByStatus(String status);
+
+    List<Order> findTop5ByOrderByOrderDateDesc();
 }
@@ -0,0 +1,13 @@
+package com.shopnest.backend.repository;
+
+import com.shopnest.backend.dto.OrderSummary;
+
+import java.util.Date;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    // Newest first on (orderDate, _id), strictly after the (beforeDate, beforeId) keyset when
+    // given. status is optional. Served by the userId_orderDate_id index.
+    List<OrderSummary> findSummaries(String userId, String status, Date beforeDate, String beforeId, int limit);
+}
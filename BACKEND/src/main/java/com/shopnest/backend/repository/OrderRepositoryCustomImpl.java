@@ -0,0 +1,49 @@
+package com.shopnest.backend.repository;
+
+import com.shopnest.backend.dto.OrderSummary;
+import com.shopnest.backend.model.Order;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OrderSummary> findSummaries(String userId, String status, Date beforeDate, String beforeId,
+            int limit) {
+        Criteria criteria = where("userId").is(userId);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        if (beforeDate != null) {
+            criteria = criteria.orOperator(
+                    where("orderDate").lt(beforeDate),
+                    where("orderDate").is(beforeDate).and("_id").lt(new ObjectId(beforeId)));
+        }
+
+        // items never leave the server: only their count is projected
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "orderDate", "_id")),
+                Aggregation.limit(limit),
+                Aggregation.project("status", "orderDate", "totalAmount")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("items").then(Collections.emptyList())))
+                        .as("itemCount"));
+        return mongoTemplate.aggregate(aggregation, Order.class, OrderSummary.class).getMappedResults();
+    }
+}
@@ -1,9 +1,29 @@
 package com.shopnest.backend.repository;
 
 import com.shopnest.backend.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends MongoRepository<Product, String> {
     List<Product> findByCategory(String category);
+
+    // Keyset pagination on _id (callers pass page 0 sorted by id and page from the last id).
+    // type is Product or a projection such as ProductSummary, which limits the fields fetched.
+    <T> List<T> findAllBy(Pageable pageable, Class<T> type);
+
+    <T> List<T> findByCategory(String category, Pageable pageable, Class<T> type);
+
+    <T> List<T> findByIdGreaterThan(String id, Pageable pageable, Class<T> type);
+
+    <T> List<T> findByCategoryAndIdGreaterThan(String category, String id, Pageable pageable, Class<T> type);
+
+    // Whole catalog in a projected shape
+    <T> List<T> findAllBy(Class<T> type);
+
+    // Cursor-backed streams; callers must close them
+    Stream<Product> streamAllByOrderByIdAsc();
+
+    Stream<Product> streamByCategoryOrderByIdAsc(String category);
 }
@@ -2,9 +2,10 @@ package com.shopnest.backend.repository;
 
 import com.shopnest.backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
@@ -14,4 +15,7 @@ public interface UserRepository extends MongoRepository<User, String> {
     Boolean existsByEmail(String email);
 
     void deleteByRole(String role);
+
+    // All users in a projected shape, e.g. UserSummary
+    <T> List<T> findAllBy(Class<T> type);
 }
@@ -0,0 +1,36 @@
+package com.shopnest.backend.repository;
+
+import com.shopnest.backend.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Targeted updates on single fields of a user document, so cart taps and profile
+// edits don't rewrite (and clobber) the whole document.
+public interface UserRepositoryCustom {
+
+    // Cart methods return the stored (unhydrated) cart and wishlist methods the stored
+    // product ids, or empty if the user does not exist.
+
+    Optional<List<User.CartItem>> findCart(String userId);
+
+    Optional<List<User.CartItem>> addCartItem(String userId, User.CartItem item);
+
+    Optional<List<User.CartItem>> updateCartItem(String userId, String productId, String currentSize,
+            Integer quantity, String newSize);
+
+    Optional<List<User.CartItem>> removeCartItem(String userId, String productId, String size);
+
+    Optional<List<User.CartItem>> clearCart(String userId);
+
+    Optional<List<String>> findWishlistIds(String userId);
+
+    Optional<List<String>> addWishlistItem(String userId, String productId);
+
+    Optional<List<String>> removeWishlistItem(String userId, String productId);
+
+    Optional<List<String>> clearWishlist(String userId);
+
+    boolean updateFields(String userId, Map<String, Object> fields);
+}
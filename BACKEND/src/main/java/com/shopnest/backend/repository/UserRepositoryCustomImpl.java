@@ -0,0 +1,146 @@
+package com.shopnest.backend.repository;
+
+import com.shopnest.backend.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // --- Cart ---
+
+    @Override
+    public Optional<List<User.CartItem>> findCart(String userId) {
+        Query query = byId(userId);
+        query.fields().include("cart");
+        return Optional.ofNullable(mongoTemplate.findOne(query, User.class)).map(u -> orEmpty(u.getCart()));
+    }
+
+    @Override
+    public Optional<List<User.CartItem>> addCartItem(String userId, User.CartItem item) {
+        User.CartItem stored = new User.CartItem(item.getProductId(), item.getQuantity(), item.getSelectedSize(), null);
+        // Same product and size already in the cart: bump its quantity in place. Otherwise
+        // push it, guarded so two concurrent adds can't both append the same line.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Query existing = Query.query(where("_id").is(userId)
+                    .and("cart").elemMatch(cartItemMatch(stored.getProductId(), stored.getSelectedSize())));
+            User user = modify(existing, new Update().inc("cart.$.quantity", stored.getQuantity()));
+            if (user == null) {
+                Query absent = Query.query(where("_id").is(userId)
+                        .and("cart").not().elemMatch(cartItemMatch(stored.getProductId(), stored.getSelectedSize())));
+                user = modify(absent, new Update().push("cart", stored));
+            }
+            if (user != null) {
+                return Optional.of(orEmpty(user.getCart()));
+            }
+            if (!mongoTemplate.exists(byId(userId), User.class)) {
+                return Optional.empty();
+            }
+        }
+        return findCart(userId);
+    }
+
+    @Override
+    public Optional<List<User.CartItem>> updateCartItem(String userId, String productId, String currentSize,
+            Integer quantity, String newSize) {
+        Query query = Query.query(where("_id").is(userId)
+                .and("cart").elemMatch(cartItemMatch(productId, currentSize)));
+        Update update = new Update();
+        if (quantity != null) {
+            update.set("cart.$.quantity", quantity);
+        }
+        if (newSize != null) {
+            update.set("cart.$.selectedSize", newSize);
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return findCart(userId);
+        }
+        User user = modify(query, update);
+        return user != null ? Optional.of(orEmpty(user.getCart())) : findCart(userId);
+    }
+
+    @Override
+    public Optional<List<User.CartItem>> removeCartItem(String userId, String productId, String size) {
+        Document match = new Document("productId", productId);
+        if (size != null) {
+            match.append("selectedSize", size);
+        }
+        User user = modify(byId(userId), new Update().pull("cart", match));
+        return Optional.ofNullable(user).map(u -> orEmpty(u.getCart()));
+    }
+
+    @Override
+    public Optional<List<User.CartItem>> clearCart(String userId) {
+        User user = modify(byId(userId), new Update().set("cart", new ArrayList<>()));
+        return Optional.ofNullable(user).map(u -> orEmpty(u.getCart()));
+    }
+
+    // --- Wishlist ---
+
+    @Override
+    public Optional<List<String>> findWishlistIds(String userId) {
+        Query query = byId(userId);
+        query.fields().include("wishlistIds");
+        return Optional.ofNullable(mongoTemplate.findOne(query, User.class)).map(u -> orEmpty(u.getWishlistIds()));
+    }
+
+    @Override
+    public Optional<List<String>> addWishlistItem(String userId, String productId) {
+        User user = modify(byId(userId), new Update().addToSet("wishlistIds", productId));
+        return Optional.ofNullable(user).map(u -> orEmpty(u.getWishlistIds()));
+    }
+
+    @Override
+    public Optional<List<String>> removeWishlistItem(String userId, String productId) {
+        User user = modify(byId(userId), new Update().pull("wishlistIds", productId));
+        return Optional.ofNullable(user).map(u -> orEmpty(u.getWishlistIds()));
+    }
+
+    @Override
+    public Optional<List<String>> clearWishlist(String userId) {
+        User user = modify(byId(userId), new Update().set("wishlistIds", new ArrayList<>()));
+        return Optional.ofNullable(user).map(u -> orEmpty(u.getWishlistIds()));
+    }
+
+    // --- Profile ---
+
+    @Override
+    public boolean updateFields(String userId, Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach(update::set);
+        return mongoTemplate.updateFirst(byId(userId), update, User.class).getMatchedCount() == 1;
+    }
+
+    // --- Helpers ---
+
+    private User modify(Query query, Update update) {
+        query.fields().include("cart").include("wishlistIds");
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    private static Criteria cartItemMatch(String productId, String size) {
+        return where("productId").is(productId).and("selectedSize").is(size);
+    }
+
+    private static Query byId(String userId) {
+        return Query.query(where("_id").is(userId));
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : new ArrayList<>();
+    }
+}
@@ -0,0 +1,9 @@
+package com.shopnest.backend.repository.reactive;
+
+import com.shopnest.backend.model.Order;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveOrderRepository extends ReactiveMongoRepository<Order, String> {
+    Flux<Order> findByUserId(String userId);
+}
@@ -0,0 +1,9 @@
+package com.shopnest.backend.repository.reactive;
+
+import com.shopnest.backend.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+    Flux<Product> findByCategory(String category);
+}
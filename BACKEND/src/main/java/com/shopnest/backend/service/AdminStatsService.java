@@ -0,0 +1,180 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.event.OrdersBulkChangedEvent;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.repository.OrderRepository;
+import com.shopnest.backend.repository.ProductRepository;
+import com.shopnest.backend.repository.UserRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Keeps the admin dashboard figures as running totals so a dashboard refresh is O(1)
+// instead of a scan over every order. Totals are rebuilt from the database on startup and after
+// bulk changes; updates that arrive while a rebuild reads are applied live and replayed on top of it.
+@Service
+public class AdminStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsService.class);
+
+    static final int RECENT_ORDERS = 5;
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private double totalSales;
+    private long pendingOrders;
+    private long totalUsers;
+    private long totalProducts;
+    private final TreeSet<Order> recentOrders = new TreeSet<>(NEWEST_FIRST);
+    // Non-null while a rebuild is reading; guarded by the monitor
+    private List<Runnable> pendingDuringRebuild;
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingDuringRebuild = new ArrayList<>();
+            }
+            try {
+                load();
+            } finally {
+                synchronized (this) {
+                    pendingDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        Aggregation salesAggregation = Aggregation.newAggregation(
+                Aggregation.match(where("status").ne("CANCELLED")),
+                Aggregation.group().sum("totalAmount").as("total"));
+        Document sales = mongoTemplate.aggregate(salesAggregation, Order.class, Document.class)
+                .getUniqueMappedResult();
+        long pending = orderRepository.countByStatus("PENDING");
+        long users = userRepository.count();
+        long products = productRepository.count();
+        List<Order> recent = orderRepository.findTop5ByOrderByOrderDateDesc();
+
+        synchronized (this) {
+            totalSales = sales == null || sales.get("total") == null
+                    ? 0
+                    : ((Number) sales.get("total")).doubleValue();
+            pendingOrders = pending;
+            totalUsers = users;
+            totalProducts = products;
+            recentOrders.clear();
+            recentOrders.addAll(recent);
+            pendingDuringRebuild.forEach(Runnable::run);
+        }
+        logger.info("Admin stats rebuilt: {} users, {} products, {} pending orders", users, products, pending);
+    }
+
+    @EventListener
+    public void onOrdersBulkChanged(OrdersBulkChangedEvent event) {
+        rebuild();
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("totalProducts", totalProducts);
+        stats.put("newOrders", pendingOrders);
+        stats.put("totalSales", totalSales);
+        stats.put("recentActivity", new ArrayList<>(recentOrders));
+        return stats;
+    }
+
+    public void userRegistered() {
+        update(() -> totalUsers++);
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getPrevious() == null && event.getCurrent() != null) {
+            update(() -> totalProducts++);
+        } else if (event.getPrevious() != null && event.getCurrent() == null) {
+            update(() -> totalProducts--);
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        long products = productRepository.count();
+        update(() -> totalProducts = products);
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        update(() -> apply(event.getPreviousStatus(), event.getOrder()));
+    }
+
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        update(() -> event.getOrders().forEach(order -> apply(null, order)));
+    }
+
+    // Applied now so the dashboard stays live, and kept for replay if a rebuild is overwriting the totals
+    private synchronized void update(Runnable delta) {
+        delta.run();
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(delta);
+        }
+    }
+
+    // previous is null for a new order; callers hold the monitor
+    private void apply(String previous, Order order) {
+        double amount = order.getTotalAmount() == null ? 0 : order.getTotalAmount();
+        String current = order.getStatus();
+
+        if (previous == null) {
+            totalSales += "CANCELLED".equals(current) ? 0 : amount;
+            pendingOrders += "PENDING".equals(current) ? 1 : 0;
+        } else {
+            if ("CANCELLED".equals(previous) != "CANCELLED".equals(current)) {
+                totalSales += "CANCELLED".equals(current) ? -amount : amount;
+            }
+            pendingOrders += ("PENDING".equals(current) ? 1 : 0) - ("PENDING".equals(previous) ? 1 : 0);
+        }
+
+        // Replace any stale copy of this order, then trim to the newest few
+        recentOrders.removeIf(o -> o.getId() != null && o.getId().equals(order.getId()));
+        recentOrders.add(order);
+        while (recentOrders.size() > RECENT_ORDERS) {
+            recentOrders.pollLast();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Carts and wishlists store product ids only. This re-attaches live catalog data with a
+// single batched lookup per request; entries whose product no longer exists are left out.
+@Service
+public class CartHydrationService {
+
+    @Autowired
+    private ProductService productService;
+
+    public User hydrate(User user) {
+        Set<String> ids = new LinkedHashSet<>();
+        collectIds(user.getCart(), ids);
+        if (user.getWishlistIds() != null) {
+            ids.addAll(user.getWishlistIds());
+        }
+        Map<String, Product> products = productService.findAllById(ids);
+        user.setCart(attach(user.getCart(), products));
+        user.setWishlist(resolve(user.getWishlistIds(), products));
+        return user;
+    }
+
+    public List<User.CartItem> hydrateCart(List<User.CartItem> cart) {
+        Set<String> ids = new LinkedHashSet<>();
+        collectIds(cart, ids);
+        return attach(cart, productService.findAllById(ids));
+    }
+
+    public List<Product> hydrateWishlist(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return resolve(productIds, productService.findAllById(new LinkedHashSet<>(productIds)));
+    }
+
+    private void collectIds(List<User.CartItem> cart, Set<String> ids) {
+        if (cart != null) {
+            cart.stream().map(User.CartItem::getProductId).filter(id -> id != null).forEach(ids::add);
+        }
+    }
+
+    private List<User.CartItem> attach(List<User.CartItem> cart, Map<String, Product> products) {
+        List<User.CartItem> hydrated = new ArrayList<>();
+        if (cart != null) {
+            for (User.CartItem item : cart) {
+                Product product = products.get(item.getProductId());
+                if (product != null) {
+                    hydrated.add(new User.CartItem(item.getProductId(), item.getQuantity(), item.getSelectedSize(), product));
+                }
+            }
+        }
+        return hydrated;
+    }
+
+    private List<Product> resolve(List<String> productIds, Map<String, Product> products) {
+        List<Product> resolved = new ArrayList<>();
+        if (productIds != null) {
+            productIds.stream().map(products::get).filter(p -> p != null).forEach(resolved::add);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,56 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.ResourceVersion;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.event.StockChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Version of everything served under /api/products, bumped by every admin write, bulk import and
+// stock-out/back-in-stock transition. Other stock moves on checkout publish nothing, so the validators
+// also roll over once per cache TTL: a client never keeps a representation longer than the server would.
+@Component
+public class CatalogVersion {
+
+    private final long windowMillis;
+    // Starts at boot time so validators from a previous process never match
+    private long version = System.currentTimeMillis();
+    private long modifiedAt = System.currentTimeMillis();
+
+    public CatalogVersion(@Value("${shopnest.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.windowMillis = Math.max(1, ttlSeconds) * 1000;
+    }
+
+    public synchronized ResourceVersion current() {
+        long window = System.currentTimeMillis() / windowMillis;
+        return new ResourceVersion("c" + version + "-" + window, Math.max(modifiedAt, window * windowMillis));
+    }
+
+    // Detail responses share the catalog version; the id keeps validators distinct per URL
+    public ResourceVersion forProduct(String id) {
+        ResourceVersion catalog = current();
+        return new ResourceVersion(catalog.getEtag() + "-" + id, catalog.getLastModified());
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        bump();
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        bump();
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        bump();
+    }
+
+    private synchronized void bump() {
+        version++;
+        modifiedAt = System.currentTimeMillis();
+    }
+}
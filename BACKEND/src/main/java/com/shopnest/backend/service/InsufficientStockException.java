@@ -0,0 +1,16 @@
+package com.shopnest.backend.service;
+
+public class InsufficientStockException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String productId;
+
+    public InsufficientStockException(String productId) {
+        super("Insufficient stock for product " + productId);
+        this.productId = productId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+}
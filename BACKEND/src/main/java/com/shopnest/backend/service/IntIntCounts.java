@@ -0,0 +1,88 @@
+package com.shopnest.backend.service;
+
+import java.util.Arrays;
+
+// Open-addressing int -> int counter (linear probing, keys >= 0). Two int arrays instead of a
+// HashMap<Integer, Integer>, so a row of the co-occurrence matrix costs about 8 bytes per slot
+// rather than ~50 bytes per entry of boxed keys, values and nodes.
+final class IntIntCounts {
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    IntIntCounts() {
+        this(4);
+    }
+
+    IntIntCounts(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    void add(int key, int delta) {
+        int slot = slot(keys, key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        // Keep the load factor at or below 1/2 so probe runs stay short
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    void addAll(IntIntCounts other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != FREE) {
+                add(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Entries packed as (count << 32 | key), for sorting by count without boxing
+    long[] packed() {
+        long[] entries = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                entries[n++] = ((long) values[i] << 32) | keys[i];
+            }
+        }
+        return entries;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,291 @@
+package com.shopnest.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.event.StockChangedEvent;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Reserves stock for order items with conditional atomic updates ($inc guarded by
+// stock >= qty). If any item cannot be reserved, the ones already taken are given back.
+//
+// Products under heavy demand get a lease: a chunk of stock is moved from the document
+// into an in-memory counter and reservations are served from it with a CAS, so
+// concurrent checkouts for one SKU don't all serialize on the same document. Leases are
+// refilled under a striped lock and returned to the database when they go idle, when the
+// product is edited and on shutdown. Units out on lease are also counted in a small ledger
+// collection, so whatever a crash strands is reported at the next startup.
+@Service
+public class InventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+
+    static final String LEASE_LEDGER = "inventory_leases";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final int hotThreshold;
+    private final int leaseChunk;
+    private final ReentrantLock[] stripes;
+    private final Cache<String, LongAdder> demand;
+    private final Cache<String, Lease> leases;
+    private volatile boolean leasing = true;
+
+    public InventoryService(@Value("${shopnest.inventory.hot-threshold:50}") int hotThreshold,
+            @Value("${shopnest.inventory.lease-chunk:20}") int leaseChunk,
+            @Value("${shopnest.inventory.lease-idle-seconds:30}") long leaseIdleSeconds,
+            @Value("${shopnest.inventory.stripes:64}") int stripeCount) {
+        this.hotThreshold = hotThreshold;
+        this.leaseChunk = Math.max(1, leaseChunk);
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        // Demand counters form a one-second window per product
+        this.demand = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(1))
+                .build();
+        this.leases = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(leaseIdleSeconds))
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((String id, Lease lease, RemovalCause cause) -> {
+                    if (id != null && lease != null) {
+                        close(id, lease, true);
+                    }
+                })
+                .build();
+    }
+
+    public void reserve(List<Order.OrderItem> items) {
+        Map<String, Integer> quantities = totals(items);
+        List<Map.Entry<String, Integer>> reserved = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            if (!reserveOne(entry.getKey(), entry.getValue())) {
+                // Compensate everything taken so far
+                reserved.forEach(r -> restock(r.getKey(), r.getValue()));
+                throw new InsufficientStockException(entry.getKey());
+            }
+            reserved.add(entry);
+        }
+    }
+
+    public void release(List<Order.OrderItem> items) {
+        totals(items).forEach(this::restock);
+    }
+
+    private Map<String, Integer> totals(List<Order.OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order has no items");
+        }
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (Order.OrderItem item : items) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every item needs a productId and a positive quantity");
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private boolean reserveOne(String productId, int quantity) {
+        LongAdder counter = demand.get(productId, id -> new LongAdder());
+        counter.increment();
+        if (!leasing || (counter.sum() < hotThreshold && leases.getIfPresent(productId) == null)) {
+            int remaining = decrement(productId, quantity);
+            if (remaining == 0) {
+                publishStock(productId, false);
+            }
+            return remaining >= 0;
+        }
+        return reserveFromLease(productId, quantity);
+    }
+
+    private boolean reserveFromLease(String productId, int quantity) {
+        while (true) {
+            Lease lease = leases.get(productId, id -> new Lease());
+            int available = lease.available.get();
+            if (available >= quantity) {
+                if (lease.available.compareAndSet(available, available - quantity)) {
+                    // The last leased unit only sells the product out if the document is empty too
+                    if (available == quantity && lease.sourceEmpty) {
+                        publishStock(productId, false);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            ReentrantLock stripe = stripeFor(productId);
+            stripe.lock();
+            try {
+                if (lease.closed) {
+                    continue;
+                }
+                int missing = quantity - lease.available.get();
+                if (missing <= 0) {
+                    continue;
+                }
+                // Lease a full chunk when possible, otherwise only what this order needs
+                int chunk = Math.max(leaseChunk, missing);
+                int remaining = decrement(productId, chunk);
+                if (remaining < 0 && chunk > missing) {
+                    chunk = missing;
+                    remaining = decrement(productId, chunk);
+                }
+                if (remaining < 0) {
+                    return false;
+                }
+                recordLease(productId, chunk);
+                lease.taken += chunk;
+                lease.sourceEmpty = remaining == 0;
+                lease.available.addAndGet(chunk);
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    // Returns the stock left in the document, or -1 if it held less than quantity
+    private int decrement(String productId, int quantity) {
+        Query query = Query.query(where("_id").is(productId).and("stock").gte(quantity));
+        query.fields().include("stock");
+        Product after = mongoTemplate.findAndModify(query, new Update().inc("stock", -quantity),
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        return after == null || after.getStock() == null ? -1 : after.getStock();
+    }
+
+    private void restock(String productId, int quantity) {
+        Query query = Query.query(where("_id").is(productId));
+        query.fields().include("stock");
+        Product after = mongoTemplate.findAndModify(query, new Update().inc("stock", quantity),
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        if (after != null && after.getStock() != null && after.getStock() == quantity) {
+            Lease lease = leases.getIfPresent(productId);
+            if (lease != null) {
+                lease.sourceEmpty = false;
+            }
+            publishStock(productId, true);
+        }
+    }
+
+    private void publishStock(String productId, boolean inStock) {
+        eventPublisher.publishEvent(new StockChangedEvent(productId, inStock));
+    }
+
+    // --- Lease Ledger ---
+
+    private void recordLease(String productId, int units) {
+        mongoTemplate.upsert(Query.query(where("_id").is(productId)), new Update().inc("units", units), LEASE_LEDGER);
+    }
+
+    // Units still on the ledger at startup were leased by a process that never returned them.
+    // Some of them were sold, so they are reported for a stock check rather than put back.
+    // Runs before the server takes requests, so no lease of this process is on the ledger yet.
+    @PostConstruct
+    void reportStrandedLeases() {
+        List<Document> stranded = mongoTemplate.find(Query.query(where("units").gt(0)), Document.class, LEASE_LEDGER);
+        for (Document entry : stranded) {
+            logger.warn("Product {} had up to {} leased units outstanding when the last process stopped; check its stock",
+                    entry.get("_id"), entry.get("units"));
+        }
+        mongoTemplate.remove(new Query(), LEASE_LEDGER);
+    }
+
+    // --- Returning Leases ---
+
+    // An admin edit sets stock to an absolute value; units still on lease were not part of
+    // what the admin saw, so they go back on top of it
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getPrevious() != null ? event.getPrevious() : event.getCurrent();
+        if (product != null && product.getId() != null) {
+            Lease lease = leases.getIfPresent(product.getId());
+            if (lease != null) {
+                close(product.getId(), lease, event.getCurrent() != null);
+                leases.invalidate(product.getId());
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        leases.invalidateAll();
+    }
+
+    // Runs before MongoTemplate is destroyed; reservations that arrive meanwhile skip the leases
+    @PreDestroy
+    public void returnLeases() {
+        leasing = false;
+        leases.invalidateAll();
+        leases.cleanUp();
+    }
+
+    private void close(String productId, Lease lease, boolean returnUnits) {
+        int remaining;
+        int taken;
+        ReentrantLock stripe = stripeFor(productId);
+        stripe.lock();
+        try {
+            if (lease.closed) {
+                return;
+            }
+            lease.closed = true;
+            remaining = lease.available.getAndSet(0);
+            taken = lease.taken;
+        } finally {
+            stripe.unlock();
+        }
+        if (returnUnits && remaining > 0) {
+            restock(productId, remaining);
+            logger.debug("Returned {} leased units of product {}", remaining, productId);
+        }
+        if (taken > 0) {
+            recordLease(productId, -taken);
+        }
+    }
+
+    private ReentrantLock stripeFor(String productId) {
+        return stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+    }
+
+    private static final class Lease {
+        final AtomicInteger available = new AtomicInteger();
+        // Guarded by the stripe lock
+        int taken;
+        // Set when the last refill emptied the product document
+        volatile boolean sourceEmpty;
+        volatile boolean closed;
+    }
+}
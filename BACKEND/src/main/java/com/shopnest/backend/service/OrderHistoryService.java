@@ -0,0 +1,47 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.CursorPage;
+import com.shopnest.backend.dto.OrderSummary;
+import com.shopnest.backend.repository.OrderRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+@Service
+public class OrderHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    // Cursor: the last row's orderDate (epoch millis) and id
+    public CursorPage<OrderSummary> findHistory(String userId, String status, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Date beforeDate = null;
+        String beforeId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = CursorPage.decodeCursor(cursor);
+            if (keys.length != 2 || !keys[0].matches("-?\\d+") || !ObjectId.isValid(keys[1])) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            beforeDate = new Date(Long.parseLong(keys[0]));
+            beforeId = keys[1];
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<OrderSummary> orders = orderRepository.findSummaries(userId, status, beforeDate, beforeId, pageSize + 1);
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummary last = orders.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(String.valueOf(last.getOrderDate().getTime()), last.getId());
+        }
+        return new CursorPage<>(orders, nextCursor);
+    }
+}
@@ -0,0 +1,564 @@
+package com.shopnest.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.model.Order;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Accepts orders into a bounded in-memory queue and writes them to Mongo from a single writer
+// thread in unordered insertMany batches (group commit): one round trip per batch instead of per
+// checkout, and one OrdersCreatedEvent per batch for the views derived from orders. Ids are
+// assigned up front, so a retried batch that partly landed shows up as duplicate key errors and
+// is counted as written.
+//
+// Each accepted order is appended to a local journal before it is acknowledged. Batches are
+// written with a majority, journaled write concern. The journal is split into segments, and a
+// segment is deleted only once every order in it has been written or rejected (see Segment), so
+// it stays bounded under sustained load and every entry it drops is durable in Mongo. Rejected
+// orders get a marker line before their stock is released, so a replay never releases it twice.
+// On startup the journal is replayed (idempotently, by _id) before the web server takes requests,
+// and so before anything rebuilds from the orders collection on ApplicationReadyEvent. A full
+// queue is rejected immediately (callers answer 503) rather than buffering without bound.
+@Service
+public class OrderIngestionService implements MeterBinder, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(OrderIngestionService.class);
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RETRYING = "RETRYING";
+    public static final String CONFIRMED = "CONFIRMED";
+    public static final String FAILED = "FAILED";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final WriteConcern DURABLE = WriteConcern.MAJORITY.withJournal(true);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<Order> queue;
+    private final int maxBatch;
+    private final long lingerMs;
+    private final long offerTimeoutMs;
+    private final long retryMaxMs;
+    private final Path journalPath;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final Cache<String, String> statuses;
+
+    private final Object journalLock = new Object();
+    // Oldest first; the last segment takes appends. Guarded by journalLock.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegment;
+    // Orders offered to the queue so far, counted before the offer so it never lags the queue
+    private final AtomicLong offered = new AtomicLong();
+    // Orders the writer has taken off the queue and settled, in queue order (writer thread only)
+    private long settled;
+    private final Thread writer;
+    // Off until the journal is open and replayed, and again once shutdown begins
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private Timer batchTimer;
+
+    public OrderIngestionService(@Value("${shopnest.orders.ingest.queue-capacity:10000}") int capacity,
+            @Value("${shopnest.orders.ingest.max-batch:500}") int maxBatch,
+            @Value("${shopnest.orders.ingest.linger-ms:5}") long lingerMs,
+            @Value("${shopnest.orders.ingest.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${shopnest.orders.ingest.retry-max-ms:5000}") long retryMaxMs,
+            @Value("${shopnest.orders.ingest.journal:}") String journal,
+            @Value("${shopnest.orders.ingest.journal-segment-bytes:16777216}") long segmentBytes,
+            @Value("${shopnest.orders.ingest.fsync:false}") boolean fsync,
+            @Value("${shopnest.orders.ingest.status-ttl-minutes:60}") long statusTtlMinutes) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.lingerMs = Math.max(0, lingerMs);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.retryMaxMs = Math.max(100, retryMaxMs);
+        this.journalPath = journal.isBlank() ? null : Path.of(journal);
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        this.fsync = fsync;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(statusTtlMinutes))
+                .maximumSize(Math.max(1000, capacity * 10L))
+                .build();
+        this.writer = new Thread(this::drain, "order-ingest-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shopnest.orders.ingest.queue", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet written").register(registry);
+        FunctionCounter.builder("shopnest.orders.ingest.written", written, AtomicLong::get).register(registry);
+        FunctionCounter.builder("shopnest.orders.ingest.failed", failed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("shopnest.orders.ingest.retries", retries, AtomicLong::get).register(registry);
+        FunctionCounter.builder("shopnest.orders.ingest.batches", batches, AtomicLong::get).register(registry);
+        batchTimer = Timer.builder("shopnest.orders.ingest.batch").register(registry);
+    }
+
+    // --- Intake ---
+
+    // The order's stock must already be reserved; on rejection the caller gives it back
+    public Order submit(Order order) {
+        if (!accepting) {
+            throw new RejectedExecutionException("Order intake is not running");
+        }
+        order.setId(new ObjectId().toHexString());
+        offered.incrementAndGet();
+        boolean queued = false;
+        try {
+            queued = queue.offer(order, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered.decrementAndGet();
+            throw new RejectedExecutionException("Interrupted while queueing order", e);
+        }
+        if (!queued) {
+            offered.decrementAndGet();
+            throw new RejectedExecutionException("Order queue is full");
+        }
+        statuses.put(order.getId(), QUEUED);
+        // Journaled after the offer, so a rejected order never reaches the journal. The segment
+        // it lands in is sealed later still, so the segment's watermark covers it.
+        appendToJournal(order, order.getId());
+        return order;
+    }
+
+    // null when the id is neither pending nor remembered; the caller falls back to the database
+    public String status(String id) {
+        return statuses.getIfPresent(id);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    // --- Writer ---
+
+    // Phase 0 starts well before the web server (near Integer.MAX_VALUE) and stops after it
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void start() {
+        try {
+            openJournal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the order journal", e);
+        }
+        accepting = true;
+        running = true;
+        writer.start();
+        logger.info("Order ingestion started (queue {}, batches up to {}, journal {})",
+                queue.remainingCapacity(), maxBatch, journalPath != null ? journalPath : "off");
+    }
+
+    // A batch leaves the writer only once every order in it is stored or marked FAILED with its
+    // stock released; until then the journal is not truncated
+    private void drain() {
+        List<Order> batch = new ArrayList<>(maxBatch);
+        while (accepting || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Order first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        truncateJournalIfIdle();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    // Linger briefly for a fuller batch when the first drain came up short
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                    while (batch.size() < maxBatch && System.nanoTime() < deadline) {
+                        Order next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, maxBatch - batch.size());
+                    }
+                }
+                writeWithRetry(batch, false);
+                settled += batch.size();
+                batch.clear();
+                releaseSettledSegments();
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    logger.warn("{} orders left to journal replay after interrupt", batch.size());
+                }
+                return;
+            } catch (RuntimeException e) {
+                // Anything but a database outage (retried inside); keep the batch and try it again
+                logger.error("Order writer failed on a batch of {}; retrying in {} ms", batch.size(), retryMaxMs, e);
+                try {
+                    Thread.sleep(retryMaxMs);
+                } catch (InterruptedException interrupted) {
+                    logger.warn("{} orders left to journal replay after interrupt", batch.size());
+                    return;
+                }
+            }
+        }
+        truncateJournalIfIdle();
+    }
+
+    // Transient failures (network, timeouts, primary changes, write concern timeouts) are retried
+    // with capped backoff for as long as the service runs; the journal covers the batch meanwhile
+    private void writeWithRetry(List<Order> batch, boolean replayed) throws InterruptedException {
+        long backoff = 50;
+        while (true) {
+            try {
+                long start = System.nanoTime();
+                Outcome outcome = insert(batch);
+                if (batchTimer != null) {
+                    batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                batches.incrementAndGet();
+                confirm(outcome, replayed);
+                return;
+            } catch (DataAccessException e) {
+                retries.incrementAndGet();
+                batch.forEach(order -> statuses.put(order.getId(), RETRYING));
+                logger.warn("Writing {} orders failed ({}); retrying in {} ms", batch.size(), e.getMessage(), backoff);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, retryMaxMs);
+            }
+        }
+    }
+
+    // Sorts the batch into inserted, already present (from an earlier attempt or run) and
+    // rejected. Per-document errors other than duplicates are permanent for that order.
+    private Outcome insert(List<Order> batch) {
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (Order order : batch) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(order, document);
+            documents.add(document);
+        }
+        List<BulkWriteError> errors = mongoTemplate.execute(Order.class, collection -> {
+            try {
+                collection.withWriteConcern(DURABLE).insertMany(documents, new InsertManyOptions().ordered(false));
+                return List.<BulkWriteError>of();
+            } catch (MongoBulkWriteException e) {
+                if (e.getWriteConcernError() != null) {
+                    throw e; // written but not yet durable: retry, duplicates will confirm it
+                }
+                return e.getWriteErrors();
+            }
+        });
+
+        Outcome outcome = new Outcome(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        boolean[] settled = new boolean[batch.size()];
+        for (BulkWriteError error : errors) {
+            Order order = batch.get(error.getIndex());
+            settled[error.getIndex()] = true;
+            if (error.getCode() == DUPLICATE_KEY) {
+                outcome.present().add(order);
+            } else {
+                outcome.rejected().add(order);
+                logger.error("Order {} rejected by the database: {}", order.getId(), error.getMessage());
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (!settled[i]) {
+                outcome.inserted().add(batch.get(i));
+            }
+        }
+        return outcome;
+    }
+
+    // Never throws: the orders are already settled in Mongo, so a retry must not repeat this.
+    // A replayed order that was already present had its event published by the previous run.
+    private void confirm(Outcome outcome, boolean replayed) {
+        List<Order> created = new ArrayList<>(outcome.inserted());
+        if (!replayed) {
+            created.addAll(outcome.present());
+        }
+        outcome.inserted().forEach(order -> statuses.put(order.getId(), CONFIRMED));
+        outcome.present().forEach(order -> statuses.put(order.getId(), CONFIRMED));
+        written.addAndGet(outcome.inserted().size() + outcome.present().size());
+        for (Order order : outcome.rejected()) {
+            statuses.put(order.getId(), FAILED);
+            failed.incrementAndGet();
+            // Marked before the release: a crash in between leaves stock held, never released twice
+            appendToJournal(Map.of("rejected", order.getId()), order.getId());
+            try {
+                inventoryService.release(order.getItems());
+            } catch (RuntimeException e) {
+                logger.error("Could not release stock of failed order {}", order.getId(), e);
+            }
+        }
+        if (!created.isEmpty()) {
+            try {
+                eventPublisher.publishEvent(new OrdersCreatedEvent(created));
+            } catch (RuntimeException e) {
+                logger.error("A listener failed on {} new orders; derived views catch up on their next rebuild",
+                        created.size(), e);
+            }
+        }
+    }
+
+    // --- Journal ---
+
+    // Orders journaled by a previous run are written before new ones, with the same events and
+    // stock release as the live path. Orders that run already rejected (and released) are skipped.
+    // A fresh segment takes the replay's own markers; the old segments are deleted only after that.
+    private void openJournal() throws InterruptedException {
+        if (journalPath == null) {
+            return;
+        }
+        try {
+            if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+            List<Path> previous = existingSegments();
+            List<Order> pending = new ArrayList<>();
+            Set<String> rejected = new HashSet<>();
+            for (Path path : previous) {
+                readSegment(path, pending, rejected);
+            }
+            synchronized (journalLock) {
+                segments.addLast(openSegment());
+            }
+            pending.removeIf(order -> rejected.contains(order.getId()));
+            for (int from = 0; from < pending.size(); from += maxBatch) {
+                writeWithRetry(pending.subList(from, Math.min(pending.size(), from + maxBatch)), true);
+            }
+            if (!pending.isEmpty() || !rejected.isEmpty()) {
+                logger.info("Replayed {} journaled orders ({} rejected earlier, skipped)", pending.size(),
+                        rejected.size());
+            }
+            for (Path path : previous) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal " + journalPath, e);
+        }
+    }
+
+    // The unsuffixed file is the single-file journal of earlier versions; it replays first
+    private List<Path> existingSegments() throws IOException {
+        Path dir = journalPath.toAbsolutePath().getParent();
+        String prefix = journalPath.getFileName() + ".";
+        TreeMap<Long, Path> numbered = new TreeMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.substring(prefix.length()).matches("\\d+")) {
+                    numbered.put(Long.parseLong(name.substring(prefix.length())), path);
+                }
+            });
+        }
+        nextSegment = numbered.isEmpty() ? 1 : numbered.lastKey() + 1;
+        List<Path> ordered = new ArrayList<>();
+        if (Files.exists(journalPath)) {
+            ordered.add(journalPath);
+        }
+        ordered.addAll(numbered.values());
+        return ordered;
+    }
+
+    private void readSegment(Path path, List<Order> orders, Set<String> rejected) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode entry = objectMapper.readTree(line);
+                    if (entry.has("rejected")) {
+                        rejected.add(entry.get("rejected").asText());
+                    } else {
+                        orders.add(objectMapper.treeToValue(entry, Order.class));
+                    }
+                } catch (IOException e) {
+                    // A torn final line from a crash mid-append; that order was never acknowledged
+                    logger.warn("Skipping unreadable order journal entry in {}", path.getFileName());
+                }
+            }
+        }
+    }
+
+    // Callers hold journalLock
+    private Segment openSegment() throws IOException {
+        Path path = journalPath.resolveSibling(journalPath.getFileName() + "." + String.format("%06d", nextSegment++));
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    private void appendToJournal(Object entry, String orderId) {
+        if (journalPath == null) {
+            return;
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            synchronized (journalLock) {
+                Segment current = segments.peekLast();
+                if (current == null) {
+                    return;
+                }
+                while (line.hasRemaining()) {
+                    current.channel.write(line);
+                }
+                if (fsync) {
+                    current.channel.force(false);
+                }
+                if (current.channel.size() >= segmentBytes) {
+                    // Everything appended to it so far was offered before this point
+                    current.watermark = offered.get();
+                    segments.addLast(openSegment());
+                }
+            }
+        } catch (IOException e) {
+            // Still queued (or already settled), so it will most likely be written; it just isn't crash-safe
+            logger.error("Could not journal order {}", orderId, e);
+        }
+    }
+
+    // Writer thread, after each batch: the queue is FIFO, so once the writer has settled as many
+    // orders as had been offered when a segment was sealed, every order in that segment is settled
+    private void releaseSettledSegments() {
+        synchronized (journalLock) {
+            while (segments.size() > 1 && segments.peekFirst().watermark <= settled) {
+                delete(segments.pollFirst());
+            }
+        }
+    }
+
+    // Writer thread, with nothing queued or in hand: every journaled order is settled
+    private void truncateJournalIfIdle() {
+        synchronized (journalLock) {
+            if (segments.isEmpty() || !queue.isEmpty()) {
+                return;
+            }
+            while (segments.size() > 1) {
+                delete(segments.pollFirst());
+            }
+            try {
+                FileChannel current = segments.peekLast().channel;
+                if (current.size() > 0) {
+                    current.truncate(0);
+                    current.position(0);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not truncate order journal", e);
+            }
+        }
+    }
+
+    private void delete(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Could not delete order journal segment {}", segment.path, e);
+        }
+    }
+
+    // A sealed segment's watermark is the offered count at sealing time; the open segment has none
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        long watermark = Long.MAX_VALUE;
+
+        Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private record Outcome(List<Order> inserted, List<Order> present, List<Order> rejected) {
+    }
+
+    // Stops intake and gives the writer a moment to flush; whatever is left is replayed next start
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Stopping with {} queued orders; they will be replayed from the journal", queue.size());
+            writer.interrupt();
+        }
+        synchronized (journalLock) {
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close order journal segment {}", segment.path, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.event.OrdersBulkChangedEvent;
+import com.shopnest.backend.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Status-predicate maintenance on the orders collection, executed server side as
+// deleteMany/updateMany. Passing a batch size switches to chunked mode, which works
+// through the matching ids in slices and pauses between them to limit primary load.
+@Service
+public class OrderMaintenanceService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderMaintenanceService.class);
+
+    static final List<String> BULK_STATUSES = List.of("PENDING", "SHIPPED", "DELIVERED");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${shopnest.maintenance.pause-ms:50}")
+    private long defaultPauseMs;
+
+    public long deleteWhere(Criteria criteria, Integer batchSize, Long pauseMs) {
+        long deleted;
+        if (batchSize == null) {
+            deleted = mongoTemplate.remove(Query.query(criteria), Order.class).getDeletedCount();
+        } else {
+            deleted = inChunks(criteria, batchSize, pauseMs,
+                    ids -> mongoTemplate.remove(Query.query(inSlice(ids, criteria)), Order.class).getDeletedCount());
+        }
+        logger.info("Deleted {} orders matching {}", deleted, criteria.getCriteriaObject());
+        eventPublisher.publishEvent(new OrdersBulkChangedEvent("delete", deleted));
+        return deleted;
+    }
+
+    // Bulk moves never touch CANCELLED: cancelling releases stock and reopening reserves it again,
+    // which is per-order work for the single-order status endpoint. from == to would also keep the
+    // chunked loop matching the same orders forever.
+    public long updateStatus(String fromStatus, String toStatus, Integer batchSize, Long pauseMs) {
+        if (!BULK_STATUSES.contains(fromStatus) || !BULK_STATUSES.contains(toStatus)) {
+            throw new IllegalArgumentException("Bulk status moves are limited to " + BULK_STATUSES);
+        }
+        if (fromStatus.equals(toStatus)) {
+            throw new IllegalArgumentException("from and to must be different statuses");
+        }
+        Update update = Update.update("status", toStatus);
+        Criteria criteria = where("status").is(fromStatus);
+        long modified;
+        if (batchSize == null) {
+            modified = mongoTemplate.updateMulti(Query.query(criteria), update, Order.class).getModifiedCount();
+        } else {
+            // Updated orders no longer match the predicate, so each slice picks up new ids
+            modified = inChunks(criteria, batchSize, pauseMs,
+                    ids -> mongoTemplate.updateMulti(Query.query(inSlice(ids, criteria)), update, Order.class)
+                            .getModifiedCount());
+        }
+        logger.info("Moved {} orders from {} to {}", modified, fromStatus, toStatus);
+        eventPublisher.publishEvent(new OrdersBulkChangedEvent("update-status", modified));
+        return modified;
+    }
+
+    // Single-order status change, applied only if the order still has the status the caller read.
+    // Returns the updated order, or null when it is gone or another writer changed it first.
+    public Order changeStatus(String id, String expectedStatus, String newStatus) {
+        Query query = Query.query(where("_id").is(id).and("status").is(expectedStatus));
+        return mongoTemplate.findAndModify(query, Update.update("status", newStatus),
+                FindAndModifyOptions.options().returnNew(true), Order.class);
+    }
+
+    private long inChunks(Criteria criteria, int batchSize, Long pauseMs, ChunkAction action) {
+        int size = Math.max(1, batchSize);
+        long pause = pauseMs == null ? defaultPauseMs : Math.max(0, pauseMs);
+        long affected = 0;
+        while (true) {
+            Query slice = Query.query(criteria).limit(size);
+            slice.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(slice, org.bson.Document.class,
+                    mongoTemplate.getCollectionName(Order.class))
+                    .stream()
+                    .map(doc -> doc.get("_id"))
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                return affected;
+            }
+            affected += action.apply(ids);
+            if (ids.size() < size) {
+                return affected;
+            }
+            if (pause > 0) {
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return affected;
+                }
+            }
+        }
+    }
+
+    // The predicate is re-checked on write: an order that changed since its slice was read is left alone
+    private static Criteria inSlice(List<Object> ids, Criteria criteria) {
+        return new Criteria().andOperator(where("_id").in(ids), criteria);
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        long apply(List<Object> ids);
+    }
+}
@@ -0,0 +1,79 @@
+package com.shopnest.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.shopnest.backend.dto.ResourceVersion;
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.event.OrdersBulkChangedEvent;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.model.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Per-user version of the order history, bumped whenever one of the user's orders is written.
+// Users without an entry (never changed since boot, or evicted) share a floor stamp; evictions
+// and bulk maintenance raise the floor, so a forgotten user can never fall back to a validator
+// it was already given.
+@Component
+public class OrderVersions {
+
+    private final Cache<String, Stamp> byUser;
+    private long sequence = System.currentTimeMillis();
+    private volatile Stamp floor = new Stamp(sequence, System.currentTimeMillis());
+
+    public OrderVersions(@Value("${shopnest.orders.versions.max-size:100000}") long maxUsers) {
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .removalListener((String userId, Stamp stamp, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        raiseFloor();
+                    }
+                })
+                .build();
+    }
+
+    public ResourceVersion forUser(String userId) {
+        Stamp stamp = byUser.getIfPresent(userId);
+        if (stamp == null) {
+            stamp = floor;
+        }
+        return new ResourceVersion("o" + stamp.version + "-" + userId, stamp.modifiedAt);
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        String userId = event.getOrder().getUserId();
+        if (userId != null) {
+            byUser.put(userId, next());
+        }
+    }
+
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        Stamp stamp = next();
+        for (Order order : event.getOrders()) {
+            if (order.getUserId() != null) {
+                byUser.put(order.getUserId(), stamp);
+            }
+        }
+    }
+
+    @EventListener
+    public void onOrdersBulkChanged(OrdersBulkChangedEvent event) {
+        byUser.invalidateAll();
+        raiseFloor();
+    }
+
+    private synchronized Stamp next() {
+        return new Stamp(++sequence, System.currentTimeMillis());
+    }
+
+    private void raiseFloor() {
+        floor = next();
+    }
+
+    private record Stamp(long version, long modifiedAt) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.shopnest.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Runs BCrypt on its own bounded pool so a login storm cannot occupy every request thread.
+// When the pool and its queue are full, work is rejected immediately (callers answer 503)
+// instead of piling up. The cost factor is calibrated to a target latency at startup and
+// stored hashes with a lower cost are re-hashed on the next successful login.
+// Results are handed to the application task executor, so the callers' continuations
+// (saves, cart hydration) never run on, and never hold up, the hashing threads.
+@Service
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    static final int MIN_COST = 10;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor callbackExecutor;
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int cost;
+
+    public PasswordHashingService(@Value("${shopnest.security.bcrypt.threads:0}") int threads,
+            @Value("${shopnest.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${shopnest.security.bcrypt.cost:0}") int fixedCost,
+            @Value("${shopnest.security.bcrypt.target-ms:100}") long targetMs,
+            @Value("${shopnest.security.bcrypt.max-cost:14}") int maxCost) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetMs, Math.max(MIN_COST, maxCost));
+        this.encoder = new BCryptPasswordEncoder(cost);
+        logger.info("BCrypt cost {} on {} hashing threads (queue {})", cost, poolSize, queueCapacity);
+    }
+
+    // Each extra cost step doubles the work, so measure once and extrapolate
+    private static int calibrate(long targetMs, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_COST);
+        probe.encode("calibration"); // warm-up
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int calibrated = MIN_COST;
+        while (calibrated < maxCost && elapsedMs * 2 <= targetMs) {
+            calibrated++;
+            elapsedMs *= 2;
+        }
+        return calibrated;
+    }
+
+    public BCryptPasswordEncoder getEncoder() {
+        return encoder;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> rawPassword != null && encodedPassword != null
+                && encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Checks a login and, if it matches a hash with an outdated cost, produces the new hash
+    // in the same task so the upgrade does not need a second trip through the queue.
+    public CompletableFuture<PasswordCheck> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (rawPassword == null || encodedPassword == null || !encoder.matches(rawPassword, encodedPassword)) {
+                return new PasswordCheck(false, null);
+            }
+            String upgraded = encoder.upgradeEncoding(encodedPassword) ? encoder.encode(rawPassword) : null;
+            return new PasswordCheck(true, upgraded);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            // Hop off the hashing thread before any dependent stage runs
+            return CompletableFuture.supplyAsync(task, executor)
+                    .thenApplyAsync(Function.identity(), callbackExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PasswordCheck {
+        private final boolean matched;
+        private final String upgradedHash; // null unless the stored hash should be replaced
+    }
+}
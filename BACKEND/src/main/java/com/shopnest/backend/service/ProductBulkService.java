@@ -0,0 +1,310 @@
+package com.shopnest.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.shopnest.backend.dto.ImportReport;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.repository.ProductRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Streaming NDJSON/CSV import and export for the catalog. Rows are parsed one at a time,
+// validated, and written in unordered bulkWrite batches: rows with an id are upserted by
+// replacement, rows without one are inserted. Bad rows are reported without failing the batch.
+@Service
+public class ProductBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductBulkService.class);
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    static final String[] CSV_COLUMNS = { "id", "name", "description", "price", "category", "subCategory",
+            "gender", "sizes", "imageUrl", "images", "stock" };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${shopnest.bulk.batch-size:1000}")
+    private int defaultBatchSize;
+
+    // --- Import ---
+
+    public ImportReport importProducts(InputStream in, String format, Integer batchSize) throws IOException {
+        int size = batchSize == null ? defaultBatchSize : Math.max(1, Math.min(batchSize, 10000));
+        ImportReport report = new ImportReport();
+        ObjectReader jsonReader = objectMapper.readerFor(Product.class);
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+
+        List<Product> batch = new ArrayList<>(size);
+        List<Long> batchRows = new ArrayList<>(size);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = csv ? readCsvRecord(reader) : null;
+            if (csv && header == null) {
+                throw new IllegalArgumentException("missing CSV header");
+            }
+            // Rows are NDJSON lines or CSV records (a quoted CSV field may span lines)
+            long row = csv ? 1 : 0;
+            while (true) {
+                String line = null;
+                String[] record = null;
+                try {
+                    if (csv) {
+                        record = readCsvRecord(reader);
+                    } else {
+                        line = reader.readLine();
+                    }
+                } catch (IllegalArgumentException e) {
+                    report.setProcessed(report.getProcessed() + 1);
+                    report.reject(row + 1, "Unparseable row: " + e.getMessage());
+                    break;
+                }
+                if (csv ? record == null : line == null) {
+                    break;
+                }
+                row++;
+                if (csv ? record.length == 1 && record[0].isBlank() : line.isBlank()) {
+                    continue;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+                try {
+                    Product product = csv ? fromCsv(header, record) : jsonReader.<Product>readValue(line);
+                    String problem = validate(product);
+                    if (problem != null) {
+                        report.reject(row, problem);
+                        continue;
+                    }
+                    batch.add(product);
+                    batchRows.add(row);
+                } catch (IOException | IllegalArgumentException e) {
+                    report.reject(row, "Unparseable row: " + e.getMessage());
+                }
+                if (batch.size() >= size) {
+                    flush(batch, batchRows, report);
+                }
+            }
+        }
+        flush(batch, batchRows, report);
+
+        logger.info("Product import finished: {} processed, {} inserted, {} updated, {} failed",
+                report.getProcessed(), report.getInserted(), report.getUpdated(), report.getFailed());
+        if (report.getInserted() + report.getUpdated() > 0) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent(report.getInserted() + report.getUpdated()));
+        }
+        return report;
+    }
+
+    private void flush(List<Product> batch, List<Long> batchRows, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        for (Product product : batch) {
+            if (product.getId() == null || product.getId().isBlank()) {
+                product.setId(null);
+                ops.insert(product);
+            } else {
+                ops.replaceOne(Query.query(where("_id").is(product.getId())), product,
+                        FindAndReplaceOptions.options().upsert());
+            }
+        }
+        try {
+            record(ops.execute(), report);
+        } catch (BulkOperationException e) {
+            record(e.getResult(), report);
+            for (BulkWriteError error : e.getErrors()) {
+                report.reject(batchRows.get(error.getIndex()), error.getMessage());
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void record(BulkWriteResult result, ImportReport report) {
+        report.setInserted(report.getInserted() + result.getInsertedCount() + result.getUpserts().size());
+        report.setUpdated(report.getUpdated() + result.getMatchedCount());
+    }
+
+    private String validate(Product product) {
+        // Keyset paging walks products by ObjectId, so any other id would be unreachable by cursor
+        if (product.getId() != null && !product.getId().isBlank() && !ObjectId.isValid(product.getId())) {
+            return "id must be a 24-character hex ObjectId or empty";
+        }
+        if (product.getName() == null || product.getName().isBlank()) {
+            return "name is required";
+        }
+        if (product.getCategory() == null || product.getCategory().isBlank()) {
+            return "category is required";
+        }
+        if (product.getPrice() == null || product.getPrice() < 0) {
+            return "price must be zero or positive";
+        }
+        if (product.getStock() == null) {
+            product.setStock(0);
+        } else if (product.getStock() < 0) {
+            return "stock must be zero or positive";
+        }
+        return null;
+    }
+
+    // --- Export ---
+
+    public void exportProducts(String format, OutputStream out) throws IOException {
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+        ObjectWriter jsonWriter = objectMapper.writerFor(Product.class);
+        try (Stream<Product> products = productRepository.streamAllByOrderByIdAsc();
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            if (csv) {
+                writer.write(String.join(",", CSV_COLUMNS));
+                writer.write('\n');
+            }
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                writer.write(csv ? toCsv(product) : jsonWriter.writeValueAsString(product));
+                writer.write('\n');
+            }
+        }
+    }
+
+    // --- CSV ---
+    // Columns follow CSV_COLUMNS; list fields (sizes, images) are '|' separated.
+
+    private Product fromCsv(String[] header, String[] values) {
+        Product product = new Product();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i].trim()) {
+                case "id" -> product.setId(value);
+                case "name" -> product.setName(value);
+                case "description" -> product.setDescription(value);
+                case "price" -> product.setPrice(value == null ? null : Double.valueOf(value));
+                case "category" -> product.setCategory(value);
+                case "subCategory" -> product.setSubCategory(value);
+                case "gender" -> product.setGender(value);
+                case "sizes" -> product.setSizes(splitList(value));
+                case "imageUrl" -> product.setImageUrl(value);
+                case "images" -> product.setImages(splitList(value));
+                case "stock" -> product.setStock(value == null ? null : Integer.valueOf(value));
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return product;
+    }
+
+    private String toCsv(Product p) {
+        return Stream.of(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getCategory(),
+                p.getSubCategory(), p.getGender(), joinList(p.getSizes()), p.getImageUrl(), joinList(p.getImages()),
+                p.getStock())
+                .map(value -> value == null ? "" : escapeCsv(value.toString()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<String> splitList(String value) {
+        return value == null ? null : Arrays.asList(value.split("\\|"));
+    }
+
+    private static String joinList(List<String> values) {
+        return values == null ? null : String.join("|", values);
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes are doubled and line
+    // breaks are kept as they are
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Reads one RFC 4180 record; line breaks inside quoted fields belong to the field. A record
+    // ends at LF or CRLF outside quotes. Returns null at end of input.
+    static String[] readCsvRecord(BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
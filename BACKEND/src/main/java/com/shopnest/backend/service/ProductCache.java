@@ -0,0 +1,132 @@
+package com.shopnest.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.event.StockChangedEvent;
+import com.shopnest.backend.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Bounded in-process cache for catalog reads. Entries expire after a TTL and are
+// invalidated precisely (by id and by the affected categories) on admin writes and when a
+// product sells out or comes back into stock.
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final Cache<String, Product> byId;
+    private final Cache<String, List<Product>> byCategory;
+
+    public ProductCache(@Value("${shopnest.cache.products.max-size:10000}") long maxProducts,
+            @Value("${shopnest.cache.categories.max-size:100}") long maxCategories,
+            @Value("${shopnest.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byCategory = Caffeine.newBuilder()
+                .maximumSize(maxCategories)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // cache.gets / cache.evictions etc. tagged cache=products.byId|products.byCategory
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "products.byId");
+        CaffeineCacheMetrics.monitor(registry, byCategory, "products.byCategory");
+    }
+
+    // Missing products are not cached; the loader may return null.
+    public Product getById(String id, Function<String, Product> loader) {
+        return byId.get(id, loader);
+    }
+
+    // Bulk lookup: only the ids missing from the cache are passed to the loader, in one call.
+    public Map<String, Product> getAll(Collection<String> ids, Function<Set<? extends String>, Map<String, Product>> loader) {
+        return byId.getAll(ids, loader);
+    }
+
+    public List<Product> getByCategory(String category, Function<String, List<Product>> loader) {
+        return byCategory.get(category, c -> List.copyOf(loader.apply(c)));
+    }
+
+    public void evictProduct(String id) {
+        byId.invalidate(id);
+    }
+
+    public void evictCategory(String category) {
+        if (category != null) {
+            byCategory.invalidate(category);
+        }
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        byCategory.invalidateAll();
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product previous = event.getPrevious();
+        Product current = event.getCurrent();
+        if (previous != null) {
+            evictProduct(previous.getId());
+            evictCategory(previous.getCategory());
+        }
+        if (current != null) {
+            evictProduct(current.getId());
+            evictCategory(current.getCategory());
+        }
+    }
+
+    // Stock events carry no category; the cached copy names it, otherwise every list goes
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Product cached = byId.getIfPresent(event.getProductId());
+        evictProduct(event.getProductId());
+        if (cached != null) {
+            evictCategory(cached.getCategory());
+        } else {
+            byCategory.invalidateAll();
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        clear();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("products", describe(byId.stats(), byId.estimatedSize()));
+        stats.put("categories", describe(byCategory.stats(), byCategory.estimatedSize()));
+        return stats;
+    }
+
+    private Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+}
@@ -0,0 +1,352 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.ProductSearchRequest;
+import com.shopnest.backend.dto.ProductSearchResult;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.event.StockChangedEvent;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory faceted index over the catalog. Every product gets a slot number; each facet
+// value keeps a BitSet of slots and prices are kept as a sorted column, so a search is a
+// handful of bitset operations plus one walk over the matches. Changes that arrive while a
+// rebuild reads the catalog are applied live and replayed onto the rebuilt index.
+@Component
+public class ProductSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    public static final int MAX_LIMIT = 200;
+
+    static final String CATEGORY = "category";
+    static final String SUB_CATEGORY = "subCategory";
+    static final String GENDER = "gender";
+    static final String SIZE = "size";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Product> slots = new ArrayList<>();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final Map<String, Map<String, BitSet>> postings = new LinkedHashMap<>();
+    private double[] prices = new double[0];
+
+    // Sorted price column, rebuilt lazily after writes
+    private volatile int[] slotsByPrice = new int[0];
+    private volatile boolean priceColumnDirty = true;
+
+    // Non-null while a rebuild reads the catalog; guarded by the write lock
+    private List<Runnable> pendingDuringRebuild;
+    private final Object rebuildLock = new Object();
+
+    public ProductSearchIndex() {
+        postings.put(CATEGORY, new HashMap<>());
+        postings.put(SUB_CATEGORY, new HashMap<>());
+        postings.put(GENDER, new HashMap<>());
+        postings.put(SIZE, new HashMap<>());
+    }
+
+    @EventListener({ ApplicationReadyEvent.class, CatalogReloadedEvent.class })
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                load();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    private void load() {
+        List<Product> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            slotById.clear();
+            freeSlots.clear();
+            live.clear();
+            inStock.clear();
+            postings.values().forEach(Map::clear);
+            prices = new double[Math.max(16, products.size())];
+            for (Product product : products) {
+                add(product);
+            }
+            pendingDuringRebuild.forEach(Runnable::run);
+            priceColumnDirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Product search index built with {} products", products.size());
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        update(() -> {
+            if (event.getPrevious() != null) {
+                remove(event.getPrevious().getId());
+            }
+            if (event.getCurrent() != null) {
+                remove(event.getCurrent().getId());
+                add(event.getCurrent());
+            }
+            priceColumnDirty = true;
+        });
+    }
+
+    // Checkout only flips the in-stock bit; the rest of the slot stays as indexed
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        update(() -> {
+            Integer slot = slotById.get(event.getProductId());
+            if (slot != null) {
+                inStock.set(slot, event.isInStock());
+            }
+        });
+    }
+
+    // Both changes are idempotent, so replaying one the rebuild already read is harmless
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ProductSearchResult search(ProductSearchRequest request) {
+        int offset = Math.max(0, request.getOffset());
+        int limit = Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            applyFacet(matches, CATEGORY, request.getCategory());
+            applyFacet(matches, SUB_CATEGORY, request.getSubCategory());
+            applyFacet(matches, GENDER, request.getGender());
+            applyFacet(matches, SIZE, request.getSize());
+            if (request.isInStock()) {
+                matches.and(inStock);
+            }
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                matches.and(priceRange(request.getMinPrice(), request.getMaxPrice()));
+            }
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            postings.forEach((facet, values) -> facets.put(facet, countFacet(values, matches)));
+
+            List<Product> items = page(matches, request.getSort(), offset, limit);
+            return new ProductSearchResult(matches.cardinality(), items, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Index Maintenance (callers hold the write lock) ---
+
+    private void add(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            slots.add(product);
+        } else {
+            slot = freeSlots.pop();
+            slots.set(slot, product);
+        }
+        slotById.put(product.getId(), slot);
+        live.set(slot);
+        if (product.getStock() != null && product.getStock() > 0) {
+            inStock.set(slot);
+        }
+        if (slot >= prices.length) {
+            prices = Arrays.copyOf(prices, Math.max(slot + 1, prices.length * 2));
+        }
+        prices[slot] = product.getPrice() == null ? 0 : product.getPrice();
+
+        post(CATEGORY, product.getCategory(), slot);
+        post(SUB_CATEGORY, product.getSubCategory(), slot);
+        post(GENDER, product.getGender(), slot);
+        if (product.getSizes() != null) {
+            product.getSizes().forEach(size -> post(SIZE, size, slot));
+        }
+    }
+
+    private void remove(String id) {
+        Integer slot = id == null ? null : slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        slots.set(slot, null);
+        live.clear(slot);
+        inStock.clear(slot);
+        for (Map<String, BitSet> values : postings.values()) {
+            values.values().removeIf(bits -> {
+                bits.clear(slot);
+                return bits.isEmpty();
+            });
+        }
+        freeSlots.push(slot);
+    }
+
+    private void post(String facet, String value, int slot) {
+        if (value != null) {
+            postings.get(facet).computeIfAbsent(value, v -> new BitSet()).set(slot);
+        }
+    }
+
+    // --- Query Helpers (callers hold the read lock) ---
+
+    private void applyFacet(BitSet matches, String facet, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet bits = postings.get(facet).get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        matches.and(union);
+    }
+
+    private BitSet priceRange(Double min, Double max) {
+        int[] sorted = priceColumn();
+        int from = min == null ? 0 : lowerBound(sorted, min);
+        int to = max == null ? sorted.length : upperBound(sorted, max);
+        BitSet range = new BitSet();
+        for (int i = from; i < to; i++) {
+            range.set(sorted[i]);
+        }
+        return range;
+    }
+
+    private Map<String, Integer> countFacet(Map<String, BitSet> values, BitSet matches) {
+        Map<String, Integer> counts = new TreeMap<>();
+        values.forEach((value, bits) -> {
+            BitSet hit = (BitSet) bits.clone();
+            hit.and(matches);
+            int count = hit.cardinality();
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+
+    private List<Product> page(BitSet matches, String sort, int offset, int limit) {
+        List<Product> items = new ArrayList<>(limit);
+        if ("price_asc".equals(sort) || "price_desc".equals(sort)) {
+            int[] sorted = priceColumn();
+            boolean ascending = "price_asc".equals(sort);
+            int skipped = 0;
+            for (int i = 0; i < sorted.length && items.size() < limit; i++) {
+                int slot = sorted[ascending ? i : sorted.length - 1 - i];
+                if (matches.get(slot) && skipped++ >= offset) {
+                    items.add(slots.get(slot));
+                }
+            }
+        } else if ("name".equals(sort)) {
+            List<Product> all = collect(matches);
+            all.sort(Comparator.comparing(Product::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            return all.subList(Math.min(offset, all.size()), Math.min(offset + limit, all.size()));
+        } else {
+            int skipped = 0;
+            for (int slot = matches.nextSetBit(0); slot >= 0 && items.size() < limit; slot = matches.nextSetBit(slot + 1)) {
+                if (skipped++ >= offset) {
+                    items.add(slots.get(slot));
+                }
+            }
+        }
+        return items;
+    }
+
+    private List<Product> collect(BitSet matches) {
+        List<Product> result = new ArrayList<>(matches.cardinality());
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            result.add(slots.get(slot));
+        }
+        return result;
+    }
+
+    // The price column is re-sorted at most once per batch of writes. Readers may race to
+    // rebuild it; the result is identical, so the last writer wins harmlessly.
+    private int[] priceColumn() {
+        if (priceColumnDirty) {
+            int[] sorted = live.stream().boxed()
+                    .sorted(Comparator.comparingDouble(slot -> prices[slot]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            slotsByPrice = sorted;
+            priceColumnDirty = false;
+        }
+        return slotsByPrice;
+    }
+
+    private int lowerBound(int[] sorted, double price) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[sorted[mid]] < price) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int upperBound(int[] sorted, double price) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[sorted[mid]] <= price) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,183 @@
+package com.shopnest.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shopnest.backend.dto.CursorPage;
+import com.shopnest.backend.dto.ProductSummary;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.repository.ProductRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ProductService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // --- Cached Reads ---
+
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(productCache.getById(id, key -> productRepository.findById(key).orElse(null)));
+    }
+
+    // One batched findAllById for whatever is not cached; unknown ids are absent from the result
+    public Map<String, Product> findAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return productCache.getAll(ids, missing -> {
+            Map<String, Product> loaded = new HashMap<>();
+            productRepository.findAllById(List.copyOf(missing)).forEach(p -> loaded.put(p.getId(), p));
+            return loaded;
+        });
+    }
+
+    public List<Product> findByCategory(String category) {
+        return productCache.getByCategory(category, productRepository::findByCategory);
+    }
+
+    // --- Summary Views ---
+
+    public List<ProductSummary> findAllSummaries() {
+        return productRepository.findAllBy(ProductSummary.class);
+    }
+
+    // Mapped from the category cache, which already holds the full products in memory
+    public List<ProductSummary> findSummariesByCategory(String category) {
+        return findByCategory(category).stream().map(ProductSummary::of).toList();
+    }
+
+    // --- Writes ---
+    // Every write publishes a ProductChangedEvent so caches and indexes update precisely.
+
+    public Product create(Product product) {
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(null, saved));
+        return saved;
+    }
+
+    public Optional<Product> update(String id, Product productDetails) {
+        return productRepository.findById(id).map(product -> {
+            Product previous = copyOf(product);
+            product.setName(productDetails.getName());
+            product.setDescription(productDetails.getDescription());
+            product.setPrice(productDetails.getPrice());
+            product.setCategory(productDetails.getCategory());
+            product.setSubCategory(productDetails.getSubCategory());
+            product.setGender(productDetails.getGender());
+            product.setSizes(productDetails.getSizes());
+            product.setImageUrl(productDetails.getImageUrl());
+            product.setImages(productDetails.getImages());
+            product.setStock(productDetails.getStock());
+            Product saved = productRepository.save(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(previous, saved));
+            return saved;
+        });
+    }
+
+    public boolean delete(String id) {
+        return productRepository.findById(id).map(product -> {
+            productRepository.delete(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(product, null));
+            return true;
+        }).orElse(false);
+    }
+
+    private static Product copyOf(Product p) {
+        return new Product(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getCategory(),
+                p.getSubCategory(), p.getGender(), p.getSizes(), p.getImageUrl(), p.getImages(), p.getStock());
+    }
+
+    // --- Keyset Pagination ---
+
+    // Pages through the catalog in _id order. The cursor is the last _id of the previous
+    // page, so every page is an index range scan instead of a skip over earlier results.
+    public CursorPage<Product> findPage(String category, String cursor, Integer limit) {
+        return findPage(category, cursor, limit, Product.class, Product::getId);
+    }
+
+    public CursorPage<ProductSummary> findSummaryPage(String category, String cursor, Integer limit) {
+        return findPage(category, cursor, limit, ProductSummary.class, ProductSummary::getId);
+    }
+
+    private <T> CursorPage<T> findPage(String category, String cursor, Integer limit, Class<T> type,
+            Function<T, String> idOf) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by(Sort.Direction.ASC, "id"));
+
+        List<T> products;
+        if (cursor == null || cursor.isEmpty()) {
+            products = category == null
+                    ? productRepository.findAllBy(pageable, type)
+                    : productRepository.findByCategory(category, pageable, type);
+        } else {
+            String afterId = CursorPage.decodeCursor(cursor)[0];
+            if (!ObjectId.isValid(afterId)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            products = category == null
+                    ? productRepository.findByIdGreaterThan(afterId, pageable, type)
+                    : productRepository.findByCategoryAndIdGreaterThan(category, afterId, pageable, type);
+        }
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = CursorPage.encodeCursor(idOf.apply(products.get(pageSize - 1)));
+        }
+        return new CursorPage<>(products, nextCursor);
+    }
+
+    // --- Streaming ---
+
+    // Writes the catalog as a JSON array straight from a Mongo cursor, one document at a
+    // time, so heap usage does not depend on catalog size.
+    public void streamProducts(String category, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Product> products = category == null
+                ? productRepository.streamAllByOrderByIdAsc()
+                : productRepository.streamByCategoryOrderByIdAsc(category);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
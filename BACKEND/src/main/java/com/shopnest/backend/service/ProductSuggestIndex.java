@@ -0,0 +1,572 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.Suggestion;
+import com.shopnest.backend.event.CatalogReloadedEvent;
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Typeahead over product names, categories and subcategories. A path-compressed trie is keyed by
+// the normalized text (lowercase, alphanumerics and single spaces) starting at every word, so
+// "shi" finds "Slim Fit Shirt" as well as "Shirts". Every node keeps the top-K suggestions of its
+// subtree ranked by popularity (units sold), so a lookup walks the query's characters and slices
+// one precomputed array.
+//
+// Readers take no lock: child tables and top-K arrays are replaced, never modified in place.
+// All writes (rebuilds, product changes, batched popularity updates) run on one writer thread,
+// recomputing the top-K arrays only along the paths they touched.
+@Component
+public class ProductSuggestIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestIndex.class);
+
+    public static final int MAX_LIMIT = 20;
+    static final int MAX_KEY_LENGTH = 32;
+
+    static final String PRODUCT = "product";
+    static final String CATEGORY = "category";
+    static final String SUB_CATEGORY = "subCategory";
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong((Entry e) -> -e.weight)
+            .thenComparingInt(e -> e.text.length())
+            .thenComparing(e -> e.text);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${shopnest.suggest.top-k:10}")
+    private int topK;
+
+    // Sales are folded into the ranking in batches rather than per order
+    @Value("${shopnest.suggest.popularity-flush-ms:5000}")
+    private long popularityFlushMs;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "product-suggest-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Node root = new Node(new char[0]);
+
+    // Writer-thread state
+    private final Map<String, Indexed> products = new HashMap<>();
+    private final Map<String, Group> groups = new HashMap<>();
+    private final Map<String, Long> sold = new HashMap<>();
+    private final Map<String, Long> pendingSales = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        writer.scheduleWithFixedDelay(() -> run(this::flushSales), popularityFlushMs, popularityFlushMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // --- Lookup ---
+
+    // Walks the query as it would be normalized, without building the normalized string
+    public List<Suggestion> suggest(String query, int limit) {
+        if (query == null) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0; // characters of node.label matched so far
+        int depth = 0;
+        boolean gap = false;
+        for (int i = 0; i < query.length() && depth < MAX_KEY_LENGTH; i++) {
+            char c = query.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                gap = depth > 0;
+                continue;
+            }
+            // A run of separators between two words matches a single space
+            char next = gap ? ' ' : Character.toLowerCase(c);
+            while (true) {
+                if (position < node.label.length) {
+                    if (node.label[position] != next) {
+                        return List.of();
+                    }
+                    position++;
+                } else {
+                    node = node.child(next);
+                    if (node == null) {
+                        return List.of();
+                    }
+                    position = 1;
+                }
+                depth++;
+                if (!gap || depth >= MAX_KEY_LENGTH) {
+                    break;
+                }
+                gap = false;
+                next = Character.toLowerCase(c);
+            }
+        }
+        if (depth == 0) {
+            return List.of();
+        }
+        Entry[] top = node.top;
+        int count = Math.min(Math.max(1, limit), top.length);
+        List<Suggestion> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suggestions.add(top[i].suggestion);
+        }
+        return suggestions;
+    }
+
+    // --- Events ---
+
+    @EventListener({ ApplicationReadyEvent.class, CatalogReloadedEvent.class })
+    public void requestRebuild() {
+        writer.execute(() -> run(this::rebuild));
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Product previous = event.getPrevious();
+        Product current = event.getCurrent();
+        writer.execute(() -> run(() -> {
+            if (previous != null) {
+                unindex(previous.getId(), root, true);
+            }
+            if (current != null) {
+                unindex(current.getId(), root, true);
+                index(current, root, true);
+            }
+        }));
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.isCreated()) {
+            countSales(event.getOrder());
+        }
+    }
+
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        event.getOrders().forEach(this::countSales);
+    }
+
+    private void countSales(Order order) {
+        if (order.getItems() == null) {
+            return;
+        }
+        for (Order.OrderItem item : order.getItems()) {
+            if (item.getProductId() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                pendingSales.merge(item.getProductId(), (long) item.getQuantity(), Long::sum);
+            }
+        }
+    }
+
+    // --- Indexing (writer thread) ---
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        pendingSales.clear();
+        Map<String, Long> loadedSales = loadSales();
+        List<Product> catalog = productRepository.findAll();
+
+        Node fresh = new Node(new char[0]);
+        products.clear();
+        groups.clear();
+        sold.clear();
+        sold.putAll(loadedSales);
+        for (Product product : catalog) {
+            index(product, fresh, false);
+        }
+        recomputeAll(fresh);
+        root = fresh;
+        logger.info("Suggestion index built for {} products and {} categories in {} ms", products.size(),
+                groups.size(), System.currentTimeMillis() - started);
+    }
+
+    // Units sold per product over the whole order history
+    private Map<String, Long> loadSales() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("items"),
+                Aggregation.group("items.productId").sum("items.quantity").as("units"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Map<String, Long> sales = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Order.class, Document.class)) {
+            Object id = row.get("_id");
+            Number units = row.get("units", Number.class);
+            if (id != null && units != null) {
+                sales.put(id.toString(), units.longValue());
+            }
+        }
+        return sales;
+    }
+
+    private void flushSales() {
+        Set<String> ids = new LinkedHashSet<>(pendingSales.keySet());
+        for (String id : ids) {
+            Long units = pendingSales.remove(id);
+            if (units == null) {
+                continue;
+            }
+            sold.merge(id, units, Long::sum);
+            Indexed indexed = products.get(id);
+            if (indexed != null) {
+                unindex(id, root, true);
+                index(indexed.product, root, true);
+            }
+        }
+    }
+
+    private void index(Product product, Node trie, boolean recompute) {
+        String name = normalize(product.getName());
+        long weight = 1 + sold.getOrDefault(product.getId(), 0L);
+        Entry entry = null;
+        if (!name.isEmpty()) {
+            entry = new Entry(PRODUCT + "|" + name, product.getName(), weight, new Suggestion(product.getName(),
+                    PRODUCT, product.getId(), product.getCategory(), product.getImageUrl(), product.getPrice()));
+            add(trie, entry, name, recompute);
+        }
+        products.put(product.getId(), new Indexed(product, entry, weight));
+        adjustGroup(CATEGORY, product.getCategory(), null, weight, 1, trie, recompute);
+        adjustGroup(SUB_CATEGORY, product.getSubCategory(), product.getCategory(), weight, 1, trie, recompute);
+    }
+
+    private void unindex(String productId, Node trie, boolean recompute) {
+        Indexed indexed = productId == null ? null : products.remove(productId);
+        if (indexed == null) {
+            return;
+        }
+        if (indexed.entry != null) {
+            remove(trie, indexed.entry, normalize(indexed.product.getName()), recompute);
+        }
+        Product product = indexed.product;
+        adjustGroup(CATEGORY, product.getCategory(), null, -indexed.weight, -1, trie, recompute);
+        adjustGroup(SUB_CATEGORY, product.getSubCategory(), product.getCategory(), -indexed.weight, -1, trie,
+                recompute);
+    }
+
+    // Categories and subcategories rank by the combined popularity of their products
+    private void adjustGroup(String type, String value, String category, long weight, int members, Node trie,
+            boolean recompute) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String key = type + "|" + normalized;
+        Group group = groups.computeIfAbsent(key, k -> new Group(value, normalized, category));
+        if (group.entry != null) {
+            remove(trie, group.entry, normalized, recompute);
+        }
+        group.weight += weight;
+        group.members += members;
+        if (group.members <= 0) {
+            groups.remove(key);
+            return;
+        }
+        group.entry = new Entry(key, group.text, group.weight,
+                new Suggestion(group.text, type, null, group.category, null, null));
+        add(trie, group.entry, normalized, recompute);
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Suggestion index update failed", e);
+        }
+    }
+
+    // --- Trie ---
+
+    // Lowercase letters and digits; any run of other characters becomes one space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean gap = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                gap = normalized.length() > 0;
+                continue;
+            }
+            if (gap) {
+                normalized.append(' ');
+                gap = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+
+    // The text from every word start, capped at MAX_KEY_LENGTH
+    static Set<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int start = 0; start < normalized.length(); start = normalized.indexOf(' ', start) + 1) {
+            keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            if (normalized.indexOf(' ', start) < 0) {
+                break;
+            }
+        }
+        return keys;
+    }
+
+    private void add(Node trie, Entry entry, String normalized, boolean recompute) {
+        for (String key : keys(normalized)) {
+            List<Node> path = new ArrayList<>();
+            Node node = insert(trie, key, path);
+            Entry[] terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+            terminals[terminals.length - 1] = entry;
+            node.terminals = terminals;
+            if (recompute) {
+                recomputePath(path);
+            }
+        }
+    }
+
+    private void remove(Node trie, Entry entry, String normalized, boolean recompute) {
+        for (String key : keys(normalized)) {
+            List<Node> path = find(trie, key);
+            if (path == null) {
+                continue;
+            }
+            Node node = path.get(path.size() - 1);
+            node.terminals = Arrays.stream(node.terminals).filter(e -> e != entry).toArray(Entry[]::new);
+            // Drop nodes left with nothing below them
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node child = path.get(i);
+                if (child.terminals.length > 0 || child.children.nodes.length > 0) {
+                    break;
+                }
+                path.get(i - 1).removeChild(child.label[0]);
+                path.remove(i);
+            }
+            if (recompute) {
+                recomputePath(path);
+            }
+        }
+    }
+
+    // Returns the node where key ends, splitting an edge if key ends or diverges inside it.
+    // A split installs new nodes rather than relabelling the existing one, so readers never see
+    // a half-updated edge.
+    private static Node insert(Node trie, String key, List<Node> path) {
+        Node node = trie;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i).toCharArray());
+                node.putChild(child);
+                i = key.length();
+            } else {
+                int common = 0;
+                while (common < child.label.length && i + common < key.length()
+                        && child.label[common] == key.charAt(i + common)) {
+                    common++;
+                }
+                if (common < child.label.length) {
+                    Node rest = child.relabel(Arrays.copyOfRange(child.label, common, child.label.length));
+                    Node shared = new Node(Arrays.copyOf(child.label, common));
+                    shared.putChild(rest);
+                    shared.top = rest.top;
+                    node.putChild(shared);
+                    child = shared;
+                }
+                i += common;
+            }
+            node = child;
+            path.add(node);
+        }
+        return node;
+    }
+
+    private static List<Node> find(Node trie, String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = trie;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            node = node.child(key.charAt(i));
+            if (node == null || !key.startsWith(new String(node.label), i)) {
+                return null;
+            }
+            i += node.label.length;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void recomputePath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recompute(path.get(i));
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children.nodes) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    // A node's top-K is the best of its own entries and its children's top-K, one per text
+    private void recompute(Node node) {
+        Node[] children = node.children.nodes;
+        int candidates = node.terminals.length;
+        for (Node child : children) {
+            candidates += child.top.length;
+        }
+        if (candidates == 0) {
+            node.top = NO_ENTRIES;
+            return;
+        }
+        Entry[] all = Arrays.copyOf(node.terminals, candidates);
+        int n = node.terminals.length;
+        for (Node child : children) {
+            System.arraycopy(child.top, 0, all, n, child.top.length);
+            n += child.top.length;
+        }
+        Arrays.sort(all, RANKING);
+        Entry[] best = new Entry[Math.min(topK, candidates)];
+        int count = 0;
+        for (Entry entry : all) {
+            boolean duplicate = false;
+            for (int j = 0; j < count && !duplicate; j++) {
+                duplicate = best[j].key.equals(entry.key);
+            }
+            if (!duplicate) {
+                best[count++] = entry;
+                if (count == best.length) {
+                    break;
+                }
+            }
+        }
+        node.top = count == best.length ? best : Arrays.copyOf(best, count);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdownNow();
+    }
+
+    // label is the edge from the parent; children are keyed by the first char of their label
+    private static final class Node {
+        final char[] label;
+        volatile Children children = Children.EMPTY;
+        volatile Entry[] top = NO_ENTRIES;
+        Entry[] terminals = NO_ENTRIES; // writer only
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            Children current = children;
+            int i = Arrays.binarySearch(current.firsts, c);
+            return i >= 0 ? current.nodes[i] : null;
+        }
+
+        // Adds child, or replaces the child starting with the same char
+        void putChild(Node child) {
+            Children current = children;
+            char first = child.label[0];
+            int i = Arrays.binarySearch(current.firsts, first);
+            if (i >= 0) {
+                Node[] nodes = current.nodes.clone();
+                nodes[i] = child;
+                children = new Children(current.firsts, nodes);
+                return;
+            }
+            int at = -i - 1;
+            char[] firsts = new char[current.firsts.length + 1];
+            Node[] nodes = new Node[current.nodes.length + 1];
+            System.arraycopy(current.firsts, 0, firsts, 0, at);
+            System.arraycopy(current.nodes, 0, nodes, 0, at);
+            firsts[at] = first;
+            nodes[at] = child;
+            System.arraycopy(current.firsts, at, firsts, at + 1, current.firsts.length - at);
+            System.arraycopy(current.nodes, at, nodes, at + 1, current.nodes.length - at);
+            children = new Children(firsts, nodes);
+        }
+
+        void removeChild(char first) {
+            Children current = children;
+            int at = Arrays.binarySearch(current.firsts, first);
+            if (at < 0) {
+                return;
+            }
+            char[] firsts = new char[current.firsts.length - 1];
+            Node[] nodes = new Node[current.nodes.length - 1];
+            System.arraycopy(current.firsts, 0, firsts, 0, at);
+            System.arraycopy(current.nodes, 0, nodes, 0, at);
+            System.arraycopy(current.firsts, at + 1, firsts, at, firsts.length - at);
+            System.arraycopy(current.nodes, at + 1, nodes, at, nodes.length - at);
+            children = new Children(firsts, nodes);
+        }
+
+        Node relabel(char[] newLabel) {
+            Node copy = new Node(newLabel);
+            copy.children = children;
+            copy.top = top;
+            copy.terminals = terminals;
+            return copy;
+        }
+    }
+
+    private record Children(char[] firsts, Node[] nodes) {
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+    }
+
+    // key identifies the text being suggested (type plus normalized text) for de-duplication
+    private record Entry(String key, String text, long weight, Suggestion suggestion) {
+    }
+
+    private record Indexed(Product product, Entry entry, long weight) {
+    }
+
+    private static final class Group {
+        final String text;
+        final String normalized;
+        final String category;
+        long weight;
+        int members;
+        Entry entry;
+
+        Group(String text, String normalized, String category) {
+            this.text = text;
+            this.normalized = normalized;
+            this.category = category;
+        }
+    }
+}
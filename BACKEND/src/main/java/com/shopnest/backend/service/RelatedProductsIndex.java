@@ -0,0 +1,370 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.event.OrdersBulkChangedEvent;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// "Frequently bought together": an item-item co-occurrence matrix over order items, with the
+// top-N partners of every product precomputed so a lookup is a single map get.
+//
+// Products are interned to dense ints and each matrix row is an IntIntCounts. New orders update
+// the rows of the products they contain and recompute just those top-N lists. A rebuild streams
+// order history on one thread, counts pairs on a worker pool (one partial matrix per worker,
+// merged at the end) and swaps the result in; orders that arrive meanwhile are replayed onto it.
+@Component
+public class RelatedProductsIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RelatedProductsIndex.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${shopnest.recommendations.top-n:20}")
+    private int topN;
+
+    // Pairs grow with the square of the basket; very large orders add little signal
+    @Value("${shopnest.recommendations.max-items-per-order:50}")
+    private int maxItemsPerOrder;
+
+    @Value("${shopnest.recommendations.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Value("${shopnest.recommendations.batch-size:5000}")
+    private int batchSize;
+
+    private final Object writeLock = new Object();
+    private Matrix matrix = new Matrix();
+    private volatile Map<String, List<String>> related = new ConcurrentHashMap<>();
+
+    // Orders seen while a rebuild runs, replayed onto the rebuilt matrix before it is swapped in.
+    // The rebuild streams ids below rebuildBoundary, so only orders at or above it are kept here.
+    private List<List<String>> pendingDuringRebuild;
+    private ObjectId rebuildBoundary;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "related-products-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Set by every request and cleared by the rebuild that serves it, so none is dropped
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    // --- Reads ---
+
+    public List<String> relatedTo(String productId, int limit) {
+        List<String> ids = related.getOrDefault(productId, List.of());
+        return ids.size() <= limit ? ids : ids.subList(0, limit);
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    // --- Incremental Updates ---
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.isCreated()) {
+            record(List.of(event.getOrder()));
+        }
+    }
+
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        record(event.getOrders());
+    }
+
+    // Counts every basket first, then recomputes each touched product's top-N once
+    private void record(List<Order> orders) {
+        List<Order> baskets = new ArrayList<>();
+        for (Order order : orders) {
+            if (productIds(order).size() >= 2) {
+                baskets.add(order);
+            }
+        }
+        if (baskets.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            BitSet touched = new BitSet();
+            for (Order order : baskets) {
+                List<String> productIds = productIds(order);
+                if (pendingDuringRebuild != null && !belowBoundary(order.getId())) {
+                    pendingDuringRebuild.add(productIds);
+                }
+                int[] items = matrix.intern(productIds);
+                matrix.count(items);
+                for (int item : items) {
+                    touched.set(item);
+                }
+            }
+            touched.stream().forEach(item -> publish(matrix, item, related));
+        }
+    }
+
+    // Bulk deletes remove history the matrix was built from
+    @EventListener
+    public void onOrdersBulkChanged(OrdersBulkChangedEvent event) {
+        requestRebuild();
+    }
+
+    // --- Rebuild ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    // Returns false when a rebuild is already running; it runs once more when it finishes
+    public boolean requestRebuild() {
+        rebuildRequested.set(true);
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(this::rebuildWhileRequested);
+        return true;
+    }
+
+    // A request that lands after the last check but before rebuilding is cleared finds the CAS
+    // taken and returns; the recheck after clearing picks it up
+    private void rebuildWhileRequested() {
+        do {
+            try {
+                while (rebuildRequested.getAndSet(false)) {
+                    try {
+                        rebuild();
+                    } catch (RuntimeException | InterruptedException | ExecutionException e) {
+                        logger.error("Related products rebuild failed", e);
+                        synchronized (writeLock) {
+                            pendingDuringRebuild = null;
+                            rebuildBoundary = null;
+                        }
+                        if (e instanceof InterruptedException) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        } while (rebuildRequested.get() && rebuilding.compareAndSet(false, true));
+    }
+
+    // Callers hold writeLock. Ids that are not ObjectIds cannot be placed, so they are replayed.
+    private boolean belowBoundary(String orderId) {
+        return rebuildBoundary != null && orderId != null && ObjectId.isValid(orderId)
+                && new ObjectId(orderId).compareTo(rebuildBoundary) < 0;
+    }
+
+    // The boundary is an _id, not orderDate: async intake stamps orderDate (and the id) well before
+    // the insert and its event, so a date cutoff let the stream and the replay both count an order.
+    // Ids below the boundary are streamed in _id order and so read last, long after their inserts;
+    // every order at or above it is created after the rebuild began and is replayed instead.
+    private void rebuild() throws InterruptedException, ExecutionException {
+        long started = System.currentTimeMillis();
+        // The boundary is the next whole second, so ids minted in the current one stay on the stream side
+        int boundarySeconds = (int) (started / 1000) + 1;
+        ObjectId boundary = new ObjectId(ByteBuffer.allocate(12).putInt(boundarySeconds).array());
+        synchronized (writeLock) {
+            pendingDuringRebuild = new ArrayList<>();
+            rebuildBoundary = boundary;
+        }
+        Thread.sleep(Math.max(0, boundarySeconds * 1000L - System.currentTimeMillis()));
+
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "related-products-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Matrix built = new Matrix();
+        long orders = 0;
+        try {
+            // One partial matrix per worker; the reader only interns ids, so workers never share state
+            List<Matrix> partials = new ArrayList<>();
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                partials.add(new Matrix());
+            }
+            Query query = new Query(where("_id").lt(boundary)).with(Sort.by("_id"));
+            query.fields().include("items.productId");
+            List<int[]> batch = new ArrayList<>(batchSize);
+            int next = 0;
+            try (Stream<Order> stream = mongoTemplate.stream(query, Order.class)) {
+                for (Order order : (Iterable<Order>) stream::iterator) {
+                    List<String> productIds = productIds(order);
+                    if (productIds.size() < 2) {
+                        continue;
+                    }
+                    batch.add(built.intern(productIds));
+                    orders++;
+                    if (batch.size() == batchSize) {
+                        running.add(submitBatch(workers, partials.get(next++ % threads), batch));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            running.add(submitBatch(workers, partials.get(next % threads), batch));
+            for (Future<?> future : running) {
+                future.get();
+            }
+            for (Matrix partial : partials) {
+                built.merge(partial);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // Top-N for every row in parallel; rows are only read here
+        Map<String, List<String>> rebuilt = new ConcurrentHashMap<>();
+        Matrix source = built;
+        IntStream.range(0, built.ids.size()).parallel().forEach(item -> publish(source, item, rebuilt));
+
+        synchronized (writeLock) {
+            for (List<String> productIds : pendingDuringRebuild) {
+                int[] items = built.intern(productIds);
+                built.count(items);
+                for (int item : items) {
+                    publish(built, item, rebuilt);
+                }
+            }
+            pendingDuringRebuild = null;
+            rebuildBoundary = null;
+            matrix = built;
+            related = rebuilt;
+        }
+        logger.info("Related products built from {} orders over {} products in {} ms", orders, built.ids.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    // Batches for one partial run in submission order on whichever worker picks them up, so a
+    // partial is guarded by its own monitor
+    private static Future<?> submitBatch(ExecutorService workers, Matrix partial, List<int[]> batch) {
+        return workers.submit(() -> {
+            synchronized (partial) {
+                for (int[] items : batch) {
+                    partial.count(items);
+                }
+            }
+        });
+    }
+
+    private void publish(Matrix source, int item, Map<String, List<String>> into) {
+        IntIntCounts row = item < source.rows.size() ? source.rows.get(item) : null;
+        if (row == null || row.size() == 0) {
+            into.remove(source.ids.get(item));
+            return;
+        }
+        long[] entries = row.packed();
+        Arrays.sort(entries);
+        int count = Math.min(topN, entries.length);
+        List<String> top = new ArrayList<>(count);
+        for (int i = entries.length - 1; i >= entries.length - count; i--) {
+            top.add(source.ids.get((int) entries[i]));
+        }
+        into.put(source.ids.get(item), List.copyOf(top));
+    }
+
+    private List<String> productIds(Order order) {
+        if (order.getItems() == null) {
+            return List.of();
+        }
+        return order.getItems().stream()
+                .map(Order.OrderItem::getProductId)
+                .filter(id -> id != null)
+                .distinct()
+                .limit(maxItemsPerOrder)
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Product id interning plus one co-occurrence row per interned product. Partial matrices share
+    // the ids of the matrix being built and only use the rows.
+    private static final class Matrix {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<IntIntCounts> rows = new ArrayList<>();
+
+        int[] intern(List<String> productIds) {
+            int[] items = new int[productIds.size()];
+            for (int i = 0; i < items.length; i++) {
+                String id = productIds.get(i);
+                Integer existing = index.get(id);
+                if (existing == null) {
+                    existing = ids.size();
+                    index.put(id, existing);
+                    ids.add(id);
+                }
+                items[i] = existing;
+            }
+            return items;
+        }
+
+        // Every unordered pair counts once in both directions
+        void count(int[] items) {
+            for (int a = 0; a < items.length; a++) {
+                for (int b = a + 1; b < items.length; b++) {
+                    row(items[a]).add(items[b], 1);
+                    row(items[b]).add(items[a], 1);
+                }
+            }
+        }
+
+        void merge(Matrix partial) {
+            for (int item = 0; item < partial.rows.size(); item++) {
+                IntIntCounts row = partial.rows.get(item);
+                if (row != null) {
+                    row(item).addAll(row);
+                }
+            }
+        }
+
+        private IntIntCounts row(int item) {
+            while (rows.size() <= item) {
+                rows.add(null);
+            }
+            IntIntCounts row = rows.get(item);
+            if (row == null) {
+                row = new IntIntCounts();
+                rows.set(item, row);
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.SalesSeries;
+import com.shopnest.backend.event.OrderChangedEvent;
+import com.shopnest.backend.event.OrdersBulkChangedEvent;
+import com.shopnest.backend.event.OrdersCreatedEvent;
+import com.shopnest.backend.model.Order;
+import com.shopnest.backend.model.Product;
+import com.shopnest.backend.model.SalesRollup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Hourly and daily sales buckets per category and per status, kept in sales_rollups so dashboard
+// charts never read raw orders. Order events apply $inc deltas; a backfill recomputes everything
+// from orders (on startup when the collection is empty, after bulk order maintenance, or on demand).
+//
+// Buckets are keyed by the order's date, in UTC. Status buckets count every order under its current
+// status; category buckets count only orders that are not cancelled, with revenue from the items
+// of that category.
+@Service
+public class SalesRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+    public static final String CATEGORY = "category";
+    public static final String STATUS = "status";
+    private static final String UNKNOWN_CATEGORY = "Unknown";
+    private static final Map<String, Long> BUCKET_MILLIS = Map.of(
+            HOUR, Duration.ofHours(1).toMillis(),
+            DAY, Duration.ofDays(1).toMillis());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Value("${shopnest.rollups.backfill-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${shopnest.rollups.max-buckets:744}")
+    private int maxBuckets;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sales-rollup-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private volatile boolean emptyAtStartup;
+
+    // --- Queries ---
+
+    public SalesSeries query(String granularity, String dimension, Date from, Date to) {
+        if (!BUCKET_MILLIS.containsKey(granularity)) {
+            throw new IllegalArgumentException("granularity must be hour or day");
+        }
+        if (!CATEGORY.equals(dimension) && !STATUS.equals(dimension)) {
+            throw new IllegalArgumentException("dimension must be category or status");
+        }
+        if (!from.before(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        long buckets = (to.getTime() - from.getTime()) / BUCKET_MILLIS.get(granularity);
+        if (buckets > maxBuckets) {
+            throw new IllegalArgumentException("Window spans " + buckets + " " + granularity
+                    + " buckets; use a coarser granularity or a shorter window");
+        }
+
+        Query query = new Query(where("granularity").is(granularity).and("dimension").is(dimension)
+                .and("bucket").gte(truncate(from.getTime(), granularity)).lt(to))
+                .with(Sort.by("bucket", "key"));
+        List<SalesRollup> points = mongoTemplate.find(query, SalesRollup.class);
+
+        Map<String, SalesRollup> totals = new LinkedHashMap<>();
+        for (SalesRollup point : points) {
+            SalesRollup total = totals.computeIfAbsent(point.getKey(),
+                    key -> new SalesRollup(null, granularity, null, dimension, key, 0.0, 0L, 0L, null));
+            total.setRevenue(round(total.getRevenue() + point.getRevenue()));
+            total.setOrders(total.getOrders() + point.getOrders());
+            total.setUnits(total.getUnits() + point.getUnits());
+        }
+        return new SalesSeries(granularity, dimension, from, to, points, new ArrayList<>(totals.values()));
+    }
+
+    public static String defaultGranularity(Date from, Date to) {
+        return to.getTime() - from.getTime() <= Duration.ofDays(3).toMillis() ? HOUR : DAY;
+    }
+
+    // --- Incremental Updates ---
+
+    // Runs on the publishing thread (a request, or the ingest writer) after the order is stored;
+    // a failure here must not fail the order
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        Order order = event.getOrder();
+        String previous = event.getPreviousStatus();
+        String current = order.getStatus();
+        if (order.getOrderDate() == null || (!event.isCreated() && previous.equals(current))) {
+            return;
+        }
+        try {
+            Map<String, Totals> deltas = new HashMap<>();
+            Map<String, String> categories = categoriesOf(productIds(List.of(order)));
+            if (event.isCreated()) {
+                contribute(order, current, categories, 1, deltas);
+            } else {
+                addStatus(order, previous, -1, deltas);
+                addStatus(order, current, 1, deltas);
+                boolean wasCounted = !"CANCELLED".equals(previous);
+                boolean isCounted = !"CANCELLED".equals(current);
+                if (wasCounted != isCounted) {
+                    addCategories(order, categories, isCounted ? 1 : -1, deltas);
+                }
+            }
+            increment(deltas);
+        } catch (RuntimeException e) {
+            logger.error("Could not update sales rollups for order {}; run a backfill to repair", order.getId(), e);
+        }
+    }
+
+    // One category lookup and one bulk write per ingest batch
+    @EventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        List<Order> orders = event.getOrders().stream()
+                .filter(order -> order.getOrderDate() != null)
+                .toList();
+        if (orders.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Totals> deltas = new HashMap<>();
+            Map<String, String> categories = categoriesOf(productIds(orders));
+            for (Order order : orders) {
+                contribute(order, order.getStatus(), categories, 1, deltas);
+            }
+            increment(deltas);
+        } catch (RuntimeException e) {
+            logger.error("Could not update sales rollups for {} orders; run a backfill to repair", orders.size(), e);
+        }
+    }
+
+    // Bulk maintenance changes orders without loading them, so only a full recompute is exact
+    @EventListener
+    public void onOrdersBulkChanged(OrdersBulkChangedEvent event) {
+        requestBackfill();
+    }
+
+    // Probed before the order journal replay (a lifecycle start), whose increments would make the
+    // collection look populated
+    @PostConstruct
+    void probeEmpty() {
+        emptyAtStartup = !mongoTemplate.exists(new Query(), SalesRollup.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (emptyAtStartup && mongoTemplate.exists(new Query(), Order.class)) {
+            requestBackfill();
+        }
+    }
+
+    // --- Backfill ---
+
+    // Returns false when a backfill is already running
+    public boolean requestBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        backfillExecutor.execute(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                logger.error("Sales rollup backfill failed", e);
+            } finally {
+                backfillRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isBackfillRunning() {
+        return backfillRunning.get();
+    }
+
+    // Recomputes every bucket in memory (a year of hourly buckets per key is a few thousand entries),
+    // rewrites them tagged with this run's generation, then drops older buckets no longer produced.
+    // Buckets an increment creates meanwhile carry a later generation and survive the sweep.
+    // Increments that land on a bucket before it is rewritten are overwritten; a later backfill corrects them.
+    void backfill() {
+        long started = System.currentTimeMillis();
+        long generation = started;
+        Map<String, Totals> totals = new HashMap<>();
+        long orders = 0;
+
+        Query query = new Query(where("orderDate").ne(null));
+        query.fields().include("items.productId", "items.quantity", "items.price", "totalAmount", "status", "orderDate");
+        List<Order> batch = new ArrayList<>(batchSize);
+        try (Stream<Order> stream = mongoTemplate.stream(query, Order.class)) {
+            for (Order order : (Iterable<Order>) stream::iterator) {
+                batch.add(order);
+                if (batch.size() == batchSize) {
+                    accumulate(batch, totals);
+                    orders += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        accumulate(batch, totals);
+        orders += batch.size();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class);
+        int pending = 0;
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            bulk.replaceOne(Query.query(where("_id").is(entry.getKey())),
+                    entry.getValue().toRollup(entry.getKey(), generation),
+                    FindAndReplaceOptions.options().upsert());
+            if (++pending == batchSize) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+        // not(gte) also matches buckets written before increments were stamped
+        long removed = mongoTemplate.remove(new Query(where("generation").not().gte(generation)), SalesRollup.class)
+                .getDeletedCount();
+
+        logger.info("Rebuilt {} sales rollup buckets from {} orders in {} ms ({} stale removed)", totals.size(),
+                orders, System.currentTimeMillis() - started, removed);
+    }
+
+    private void accumulate(List<Order> orders, Map<String, Totals> totals) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<String, String> categories = lookupCategories(productIds(orders));
+        for (Order order : orders) {
+            contribute(order, order.getStatus(), categories, 1, totals);
+        }
+    }
+
+    // --- Contributions ---
+
+    private static void contribute(Order order, String status, Map<String, String> categories, int sign,
+            Map<String, Totals> into) {
+        addStatus(order, status, sign, into);
+        if (!"CANCELLED".equals(status)) {
+            addCategories(order, categories, sign, into);
+        }
+    }
+
+    private static void addStatus(Order order, String status, int sign, Map<String, Totals> into) {
+        long units = 0;
+        for (Order.OrderItem item : items(order)) {
+            units += item.getQuantity() == null ? 0 : item.getQuantity();
+        }
+        double revenue = order.getTotalAmount() == null ? 0 : order.getTotalAmount();
+        for (String granularity : BUCKET_MILLIS.keySet()) {
+            into.computeIfAbsent(key(granularity, order.getOrderDate(), STATUS, status == null ? "UNKNOWN" : status),
+                    k -> new Totals()).add(sign * revenue, sign, sign * units);
+        }
+    }
+
+    private static void addCategories(Order order, Map<String, String> categories, int sign,
+            Map<String, Totals> into) {
+        Map<String, Totals> byCategory = new HashMap<>();
+        for (Order.OrderItem item : items(order)) {
+            String category = categories.getOrDefault(item.getProductId(), UNKNOWN_CATEGORY);
+            int quantity = item.getQuantity() == null ? 0 : item.getQuantity();
+            double price = item.getPrice() == null ? 0 : item.getPrice();
+            byCategory.computeIfAbsent(category, c -> new Totals()).add(price * quantity, 0, quantity);
+        }
+        byCategory.forEach((category, t) -> {
+            for (String granularity : BUCKET_MILLIS.keySet()) {
+                // An order counts once per category it contains
+                into.computeIfAbsent(key(granularity, order.getOrderDate(), CATEGORY, category), k -> new Totals())
+                        .add(sign * t.revenue, sign, sign * t.units);
+            }
+        });
+    }
+
+    private static List<Order.OrderItem> items(Order order) {
+        return order.getItems() == null ? List.of() : order.getItems();
+    }
+
+    // --- Persistence ---
+
+    private void increment(Map<String, Totals> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Pair<Query, Update>> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((id, t) -> {
+            String[] parts = id.split("\\|", 4);
+            updates.add(Pair.of(Query.query(where("_id").is(id)), new Update()
+                    .inc("revenue", t.revenue)
+                    .inc("orders", t.orders)
+                    .inc("units", t.units)
+                    .setOnInsert("granularity", parts[0])
+                    .setOnInsert("bucket", new Date(Long.parseLong(parts[1])))
+                    .setOnInsert("dimension", parts[2])
+                    .setOnInsert("key", parts[3])
+                    .setOnInsert("generation", System.currentTimeMillis())));
+        });
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class).upsert(updates).execute();
+    }
+
+    private static String key(String granularity, Date orderDate, String dimension, String value) {
+        return granularity + "|" + truncate(orderDate.getTime(), granularity).getTime() + "|" + dimension + "|" + value;
+    }
+
+    private static Date truncate(long millis, String granularity) {
+        long size = BUCKET_MILLIS.get(granularity);
+        return new Date(Math.floorDiv(millis, size) * size);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // --- Categories ---
+
+    private static Set<String> productIds(Collection<Order> orders) {
+        Set<String> ids = new HashSet<>();
+        for (Order order : orders) {
+            for (Order.OrderItem item : items(order)) {
+                if (item.getProductId() != null) {
+                    ids.add(item.getProductId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Live orders: through the product cache
+    private Map<String, String> categoriesOf(Set<String> productIds) {
+        Map<String, String> categories = new HashMap<>();
+        productService.findAllById(productIds).forEach((id, product) -> categories.put(id, product.getCategory()));
+        return categories;
+    }
+
+    // Backfill: straight from Mongo, category only, so a full pass does not churn the product cache
+    private Map<String, String> lookupCategories(Set<String> productIds) {
+        Query query = new Query(where("_id").in(productIds));
+        query.fields().include("category");
+        Map<String, String> categories = new HashMap<>();
+        for (Product product : mongoTemplate.find(query, Product.class)) {
+            categories.put(product.getId(), product.getCategory());
+        }
+        return categories;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private static final class Totals {
+        private double revenue;
+        private long orders;
+        private long units;
+
+        void add(double revenue, long orders, long units) {
+            this.revenue += revenue;
+            this.orders += orders;
+            this.units += units;
+        }
+
+        SalesRollup toRollup(String id, long generation) {
+            String[] parts = id.split("\\|", 4);
+            return new SalesRollup(id, parts[0], new Date(Long.parseLong(parts[1])), parts[2], parts[3],
+                    round(revenue), orders, units, generation);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.shopnest.backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageTest {
+
+    @Test
+    void roundTripsKeysetValues() {
+        String cursor = CursorPage.encodeCursor("19.99", "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        assertThat(CursorPage.decodeCursor(cursor)).containsExactly("19.99", "65a1f0c2e4b0a1b2c3d4e5f6");
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        // Bytes that standard base64 would encode with '+', '/' and '=' padding
+        String cursor = CursorPage.encodeCursor("~~~>>>?", "Größe");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(CursorPage.decodeCursor(cursor)).containsExactly("~~~>>>?", "Größe");
+    }
+
+    @Test
+    void keepsEmptyKeys() {
+        assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor("", "id", ""))).containsExactly("", "id", "");
+    }
+
+    @Test
+    void singleKeyRoundTrips() {
+        assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor("only"))).containsExactly("only");
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> CursorPage.decodeCursor("not*base64"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not*base64");
+    }
+}
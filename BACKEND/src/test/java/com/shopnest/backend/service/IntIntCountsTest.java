@@ -0,0 +1,93 @@
+package com.shopnest.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntIntCountsTest {
+
+    @Test
+    void addAccumulatesPerKey() {
+        IntIntCounts counts = new IntIntCounts();
+        counts.add(7, 1);
+        counts.add(7, 2);
+        counts.add(0, 5);
+
+        assertThat(counts.size()).isEqualTo(2);
+        assertThat(toMap(counts)).containsOnly(Map.entry(7, 3), Map.entry(0, 5));
+    }
+
+    @Test
+    void growKeepsEveryEntry() {
+        IntIntCounts counts = new IntIntCounts(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(3_000);
+            counts.add(key, 1);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertThat(counts.size()).isEqualTo(expected.size());
+        assertThat(toMap(counts)).isEqualTo(expected);
+    }
+
+    @Test
+    void collidingKeysAreKeptApart() {
+        // Multiples of the capacity share the low bits before hashing
+        IntIntCounts counts = new IntIntCounts(4);
+        for (int i = 0; i < 64; i++) {
+            counts.add(i * 1024, i + 1);
+        }
+
+        Map<Integer, Integer> map = toMap(counts);
+        assertThat(map).hasSize(64);
+        for (int i = 0; i < 64; i++) {
+            assertThat(map).containsEntry(i * 1024, i + 1);
+        }
+    }
+
+    @Test
+    void addAllMergesCounts() {
+        IntIntCounts left = new IntIntCounts();
+        left.add(1, 2);
+        left.add(2, 1);
+        IntIntCounts right = new IntIntCounts();
+        right.add(2, 4);
+        right.add(3, 1);
+
+        left.addAll(right);
+
+        assertThat(toMap(left)).containsOnly(Map.entry(1, 2), Map.entry(2, 5), Map.entry(3, 1));
+    }
+
+    @Test
+    void packedSortsByCountThenKey() {
+        IntIntCounts counts = new IntIntCounts();
+        counts.add(Integer.MAX_VALUE, 2);
+        counts.add(5, 9);
+        counts.add(6, 2);
+        counts.add(1, 1);
+
+        long[] packed = counts.packed();
+        Arrays.sort(packed);
+
+        assertThat(Arrays.stream(packed).mapToInt(entry -> (int) entry).toArray())
+                .containsExactly(1, 6, Integer.MAX_VALUE, 5);
+        assertThat(Arrays.stream(packed).mapToInt(entry -> (int) (entry >>> 32)).toArray())
+                .containsExactly(1, 2, 2, 9);
+    }
+
+    private static Map<Integer, Integer> toMap(IntIntCounts counts) {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (long entry : counts.packed()) {
+            map.put((int) entry, (int) (entry >>> 32));
+        }
+        return map;
+    }
+}
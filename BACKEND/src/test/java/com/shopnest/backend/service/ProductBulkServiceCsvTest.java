@@ -0,0 +1,63 @@
+package com.shopnest.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductBulkServiceCsvTest {
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        BufferedReader reader = reader("a,b,c\n");
+
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("a", "b", "c");
+        assertThat(ProductBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(ProductBulkService.readCsvRecord(reader(",x,,\n"))).containsExactly("", "x", "", "");
+    }
+
+    @Test
+    void quotedFieldsKeepCommasEscapedQuotesAndLineBreaks() throws IOException {
+        BufferedReader reader = reader("\"Tee, \"\"Classic\"\"\",\"line one\r\nline two\",9.99\r\nnext,row\r\n");
+
+        assertThat(ProductBulkService.readCsvRecord(reader))
+                .containsExactly("Tee, \"Classic\"", "line one\r\nline two", "9.99");
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("next", "row");
+        assertThat(ProductBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void recordsEndAtLfCrlfOrLoneCr() throws IOException {
+        BufferedReader reader = reader("a\nb\r\nc\rd");
+
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("a");
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("b");
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("c");
+        assertThat(ProductBulkService.readCsvRecord(reader)).containsExactly("d");
+        assertThat(ProductBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void emptyQuotedFieldIsEmptyString() throws IOException {
+        assertThat(ProductBulkService.readCsvRecord(reader("\"\",\"\"\"\"\n"))).containsExactly("", "\"");
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThatThrownBy(() -> ProductBulkService.readCsvRecord(reader("\"open,field\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unterminated");
+    }
+
+    private static BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+}
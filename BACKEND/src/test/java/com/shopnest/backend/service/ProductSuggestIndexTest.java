@@ -0,0 +1,118 @@
+package com.shopnest.backend.service;
+
+import com.shopnest.backend.dto.Suggestion;
+import com.shopnest.backend.event.ProductChangedEvent;
+import com.shopnest.backend.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        ReflectionTestUtils.setField(index, "topK", 10);
+    }
+
+    @Test
+    void normalizeLowercasesAndCollapsesSeparators() {
+        assertThat(ProductSuggestIndex.normalize("  Slim-Fit   T-Shirt!! ")).isEqualTo("slim fit t shirt");
+        assertThat(ProductSuggestIndex.normalize("Größe 42")).isEqualTo("größe 42");
+        assertThat(ProductSuggestIndex.normalize("--")).isEmpty();
+        assertThat(ProductSuggestIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void keysStartAtEveryWordAndAreCapped() {
+        assertThat(ProductSuggestIndex.keys("slim fit shirt")).containsExactly("slim fit shirt", "fit shirt", "shirt");
+
+        String longName = "a".repeat(ProductSuggestIndex.MAX_KEY_LENGTH + 10);
+        assertThat(ProductSuggestIndex.keys(longName)).containsExactly("a".repeat(ProductSuggestIndex.MAX_KEY_LENGTH));
+    }
+
+    @Test
+    void sharedPrefixSplitsNodeAndKeepsBothReachable() throws Exception {
+        add(product("1", "Shirt"));
+        add(product("2", "Shoes"));
+        add(product("3", "Sh"));
+
+        assertThat(texts("sh")).containsExactlyInAnyOrder("Shirt", "Shoes", "Sh");
+        assertThat(texts("shi")).containsExactly("Shirt");
+        assertThat(texts("sho")).containsExactly("Shoes");
+        assertThat(texts("shx")).isEmpty();
+    }
+
+    @Test
+    void queryIsMatchedAsNormalizedAndFromEveryWord() throws Exception {
+        add(product("1", "Slim-Fit Shirt"));
+
+        assertThat(texts("SLIM  fit")).containsExactly("Slim-Fit Shirt");
+        assertThat(texts("fit sh")).containsExactly("Slim-Fit Shirt");
+        assertThat(texts("shirt")).containsExactly("Slim-Fit Shirt");
+        assertThat(texts("lim")).isEmpty();
+    }
+
+    @Test
+    void removeDropsEntryAndLeavesSiblings() throws Exception {
+        Product shirt = product("1", "Shirt");
+        add(shirt);
+        add(product("2", "Shoes"));
+
+        change(shirt, null);
+
+        assertThat(texts("sh")).containsExactly("Shoes");
+        assertThat(texts("shi")).isEmpty();
+    }
+
+    @Test
+    void renameReplacesPreviousName() throws Exception {
+        Product before = product("1", "Shirt");
+        add(before);
+
+        change(before, product("1", "Blouse"));
+
+        assertThat(texts("shirt")).isEmpty();
+        assertThat(texts("blo")).containsExactly("Blouse");
+    }
+
+    @Test
+    void ranksShorterTextFirstAtEqualWeight() throws Exception {
+        add(product("1", "Shirt Long Sleeve"));
+        add(product("2", "Shirt"));
+
+        assertThat(texts("shirt")).containsExactly("Shirt", "Shirt Long Sleeve");
+        assertThat(index.suggest("shirt", 1)).hasSize(1);
+    }
+
+    // --- Helpers ---
+
+    private static Product product(String id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+
+    private void add(Product product) throws Exception {
+        change(null, product);
+    }
+
+    // Updates run on the index's writer thread; a no-op behind them waits until they are applied
+    private void change(Product previous, Product current) throws Exception {
+        index.onProductChanged(new ProductChangedEvent(previous, current));
+        ((ExecutorService) ReflectionTestUtils.getField(index, "writer")).submit(() -> {
+        }).get();
+    }
+
+    private List<String> texts(String query) {
+        return index.suggest(query, ProductSuggestIndex.MAX_LIMIT).stream().map(Suggestion::getText).toList();
+    }
+}
@@ -478,6 +478,13 @@ function ProductCard({ product }) {
   );
 }
 
+const CATEGORY_ROUTES = ['men', 'women', 'accessories', 'footwear'];
+
+function categoryRoute(category) {
+  const slug = (category || '').toLowerCase();
+  return CATEGORY_ROUTES.includes(slug) ? `/category/${slug}` : '/category/all';
+}
+
 function SearchOverlay({ isOpen, onClose, searchQuery, setSearchQuery, searchResults, setSearchResults }) {
   const [loading, setLoading] = useState(false);
   const navigate = useNavigate();
@@ -497,13 +504,10 @@ function SearchOverlay({ isOpen, onClose, searchQuery, setSearchQuery, searchRes
   const performSearch = async () => {
     setLoading(true);
     try {
-      const res = await fetch(`/api/products`);
+      // Ranked server-side suggestions instead of downloading and filtering the whole catalog
+      const res = await fetch(`/api/products/suggest?q=${encodeURIComponent(searchQuery)}&limit=10`);
       const data = await res.json();
-      const filtered = data.filter(product =>
-        product.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        product.category.toLowerCase().includes(searchQuery.toLowerCase())
-      );
-      setSearchResults(filtered);
+      setSearchResults(data);
     } catch (err) {
       console.error("Search error:", err);
     } finally {
@@ -543,22 +547,37 @@ function SearchOverlay({ isOpen, onClose, searchQuery, setSearchQuery, searchRes
           ) : searchQuery && searchResults.length === 0 ? (
             <div className="search-status">No results found for "{searchQuery}"</div>
           ) : (
-            searchResults.map(product => (
+            searchResults.map(suggestion => suggestion.type === 'product' ? (
               <div
-                key={product.id}
+                key={suggestion.productId}
+                className="search-result-item"
+                onClick={() => {
+                  navigate(`/product/${suggestion.productId}`);
+                  setSearchQuery('');
+                  onClose();
+                }}
+              >
+                <img src={suggestion.imageUrl} alt={suggestion.text} />
+                <div className="result-info">
+                  <h4>{suggestion.text}</h4>
+                  <p>{suggestion.category}</p>
+                </div>
+                <div className="result-price">₹{suggestion.price}</div>
+              </div>
+            ) : (
+              <div
+                key={`${suggestion.type}-${suggestion.text}`}
                 className="search-result-item"
                 onClick={() => {
-                  navigate(`/product/${product.id}`); // Or navigate to specific product if route exists
+                  navigate(categoryRoute(suggestion.category || suggestion.text));
                   setSearchQuery('');
                   onClose();
                 }}
               >
-                <img src={product.imageUrl} alt={product.name} />
                 <div className="result-info">
-                  <h4>{product.name}</h4>
-                  <p>{product.category}</p>
+                  <h4>{suggestion.text}</h4>
+                  <p>{suggestion.type === 'category' ? 'Category' : `in ${suggestion.category}`}</p>
                 </div>
-                <div className="result-price">₹{product.price}</div>
               </div>
             ))
           )}